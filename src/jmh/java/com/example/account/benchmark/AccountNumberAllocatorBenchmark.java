@@ -0,0 +1,49 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.AccountNumberAllocator;
+import com.example.account.service.AccountNumberBlockSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 생성(AccountService.createAccount) 중 계좌 번호 발급 구간
+ * - 실제 block source(H2 sequence / redis)를 사용하고, 블록 크기별로 비교한다.
+ *   blockSize = 1 은 계좌 하나마다 저장소를 한 번씩 호출하는 경우와 같다.
+ * - 사용자당 계좌 10개 제한이 있어 createAccount 전체가 아닌 발급기만 반복 호출한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountNumberAllocatorBenchmark {
+
+    @Param({"sequence", "redis"})
+    public String source;
+
+    @Param({"1", "100", "1000"})
+    public int blockSize;
+
+    @Param({"false", "true"})
+    public boolean checkDigit;
+
+    private ConfigurableApplicationContext context;
+    private AccountNumberAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("account.number.source=" + source);
+        allocator = new AccountNumberAllocator(
+                context.getBean(AccountNumberBlockSource.class), blockSize, checkDigit);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String allocate() {
+        return allocator.allocate();
+    }
+}
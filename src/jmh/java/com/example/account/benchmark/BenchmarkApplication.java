@@ -0,0 +1,44 @@
+package com.example.account.benchmark;
+
+import com.example.account.AccountApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * - 웹 서버 없이 H2 + embedded redis(LocalRedisConfig) 로 띄운다.
+ * - 개발용 redis(6379)와 겹치지 않도록 별도 포트를 사용하고, SQL 로그는 끈다.
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] DEFAULT_PROPERTIES = {
+            "spring.redis.port=6389",
+            "spring.datasource.url=jdbc:h2:mem:benchmark",
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=warn"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param properties 기본값과 같은 키는 기본값 대신 사용 (같은 인자를 두 번 넘기면 값이 합쳐진다)
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        // application.yml 보다 우선하도록 command line 인자로 넘긴다.
+        Map<String, String> args = new LinkedHashMap<>();
+        Stream.concat(Arrays.stream(DEFAULT_PROPERTIES), Arrays.stream(properties))
+                .forEach(property -> args.put(property.substring(0, property.indexOf('=')), "--" + property));
+
+        return new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.values().toArray(new String[0]));
+    }
+}
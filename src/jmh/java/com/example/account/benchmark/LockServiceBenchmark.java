@@ -0,0 +1,72 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.LockOptions;
+import com.example.account.service.LockService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌 lock 취득 / 해제 (embedded redis)
+ * - lock 구현(redis / local / hybrid)별 비교
+ * - uncontended : 스레드마다 다른 계좌
+ * - contended : 모든 스레드가 같은 계좌 (-t 옵션으로 스레드 수 지정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LockServiceBenchmark {
+
+    private static final String CONTENDED_ACCOUNT_NUMBER = "9000000000";
+
+    @Param({"redis", "local", "hybrid"})
+    public String lockMode;
+
+    private ConfigurableApplicationContext context;
+    private LockService lockService;
+    private final LockOptions lockOptions = LockOptions.builder()
+            .waitMillis(5_000L)
+            .leaseMillis(15_000L)
+            .fair(false)
+            .build();
+
+    private final AtomicInteger threadSequence = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(LockServiceBenchmark benchmark) {
+            accountNumber = String.valueOf(
+                    9_100_000_000L + benchmark.threadSequence.getAndIncrement());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("account.lock.mode=" + lockMode);
+        lockService = context.getBean(LockService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long uncontended(ThreadAccount threadAccount) {
+        long fencingToken = lockService.lock(threadAccount.accountNumber, lockOptions);
+        lockService.unlock(threadAccount.accountNumber, lockOptions);
+        return fencingToken;
+    }
+
+    @Benchmark
+    public long contended() {
+        long fencingToken = lockService.lock(CONTENDED_ACCOUNT_NUMBER, lockOptions);
+        lockService.unlock(CONTENDED_ACCOUNT_NUMBER, lockOptions);
+        return fencingToken;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 변환 구간 : Transaction -> TransactionDto.fromEntity -> UseBalance.Response.from
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionDtoMappingBenchmark {
+
+    private Transaction transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Account account = Account.builder()
+                .accountUser(AccountUser.builder().name("benchmark").build())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+
+        transaction = Transaction.builder()
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResultType.S)
+                .account(account)
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactionId("c2033bb6d82a4250aecf8e27c49b63f6")
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public TransactionDto fromEntity() {
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public UseBalance.Response fromEntityToResponse() {
+        return UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+    }
+}
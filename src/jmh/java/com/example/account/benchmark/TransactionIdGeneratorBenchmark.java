@@ -0,0 +1,42 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.TimeOrderedTransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 아이디 발급 : UUID.randomUUID().toString().replace("-", "") vs 시간 순 아이디
+ * -prof gc 로 호출당 할당량도 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionIdGeneratorBenchmark {
+
+    private final UuidTransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+    private final TimeOrderedTransactionIdGenerator timeOrdered = new TimeOrderedTransactionIdGenerator(1);
+
+    @Benchmark
+    public String uuid() {
+        return uuid.generate();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String uuidContended() {
+        return uuid.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String timeOrderedContended() {
+        return timeOrdered.generate();
+    }
+}
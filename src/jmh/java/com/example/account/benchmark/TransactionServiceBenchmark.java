@@ -0,0 +1,130 @@
+package com.example.account.benchmark;
+
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.LockProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.BatchTransactionService;
+import com.example.account.service.LockOptions;
+import com.example.account.service.LockService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ExecutionMode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 잔액 사용 / 사용 취소 (H2)
+ * - 실행 모드별(lock / lockless / optimistic) 처리량 비교
+ * - LOCK 모드는 LockAopAspect 와 같은 순서로 lock -> fencing token -> 서비스 호출 -> unlock 을 수행한다.
+ * - 사용 취소는 원거래가 필요하므로 사용 + 취소를 한 번의 연산으로 측정한다.
+ * - 일괄 처리(useBalanceBatch)는 BATCH_SIZE 건을 한 번에 처리하고 건당 처리량으로 환산한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionServiceBenchmark {
+
+    private static final long INITIAL_BALANCE = 1_000_000_000_000_000L;
+    private static final long AMOUNT = 100L;
+    private static final long BENCHMARK_USER_ID = 1L;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"lock", "lockless", "optimistic"})
+    public String executionMode;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private BatchTransactionService batchTransactionService;
+    private LockService lockService;
+    private LockOptions lockOptions;
+    private boolean lockRequired;
+
+    private Long userId;
+    private String accountNumber;
+    private List<BatchTransaction.Item> batchItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "account.transaction.execution-mode=" + executionMode);
+
+        transactionService = context.getBean(TransactionService.class);
+        batchTransactionService = context.getBean(BatchTransactionService.class);
+        lockService = context.getBean(LockService.class);
+
+        LockProperties lockProperties = context.getBean(LockProperties.class);
+        lockOptions = LockOptions.defaults(lockProperties);
+        lockRequired = ExecutionMode.valueOf(executionMode.toUpperCase()) == ExecutionMode.LOCK;
+
+        // data.sql 로 등록된 사용자
+        AccountUser accountUser = context.getBean(AccountUserRepository.class)
+                .findById(BENCHMARK_USER_ID)
+                .orElseThrow(IllegalStateException::new);
+        Account account = context.getBean(AccountRepository.class)
+                .save(Account.builder()
+                        .accountUser(accountUser)
+                        .accountNumber("9000000000")
+                        .accountStatus(AccountStatus.IN_USE)
+                        .balance(INITIAL_BALANCE)
+                        .registeredAt(LocalDateTime.now())
+                        .build());
+
+        userId = accountUser.getId();
+        accountNumber = account.getAccountNumber();
+
+        UseBalance.Request request = new UseBalance.Request(userId, accountNumber, AMOUNT);
+        batchItems = Collections.nCopies(BATCH_SIZE,
+                BatchTransaction.Item.builder().use(request).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return withLock(() -> transactionService.useBalance(userId, accountNumber, AMOUNT));
+    }
+
+    @Benchmark
+    public TransactionDto useAndCancelBalance() {
+        TransactionDto used = withLock(
+                () -> transactionService.useBalance(userId, accountNumber, AMOUNT));
+
+        return withLock(() -> transactionService.cancelBalance(
+                used.getTransactionId(), accountNumber, AMOUNT));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchTransaction.Result> useBalanceBatch() {
+        return batchTransactionService.process(batchItems);
+    }
+
+    private TransactionDto withLock(Supplier<TransactionDto> supplier) {
+        if (!lockRequired) {
+            return supplier.get();
+        }
+
+        AccountLockContext.setFencingToken(lockService.lock(accountNumber, lockOptions));
+        try {
+            return supplier.get();
+        } finally {
+            AccountLockContext.clear();
+            lockService.unlock(accountNumber, lockOptions);
+        }
+    }
+}
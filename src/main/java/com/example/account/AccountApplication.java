@@ -2,12 +2,18 @@ package com.example.account;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class AccountApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(AccountApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(AccountApplication.class, args);
+
+		// 거래 내보내기 CLI (TransactionExportRunner) : 내보낸 뒤 종료
+		if (context.getEnvironment().containsProperty("account.transaction.export.file")) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -2,10 +2,16 @@ package com.example.account.aop;
 
 import java.lang.annotation.*;
 
+/**
+ * 계좌 lock
+ * 음수 값은 account.lock.* 설정값을 사용한다.
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 @Inherited
 public @interface AccountLock {
-    long tryLockTime() default 5000L;
+    long tryLockTime() default -1L; // ms
+    long leaseTime() default -1L;   // ms
+    boolean fair() default false;
 }
@@ -0,0 +1,42 @@
+package com.example.account.aop;
+
+import java.util.Map;
+
+/**
+ * 현재 스레드가 잡고 있는 계좌 lock 의 fencing token
+ * LockAopAspect 가 설정/해제하고, 잔액 변경 시 Account.fencingToken 과 비교한다.
+ * 여러 계좌를 함께 lock 한 경우 계좌 번호별 token 을 보관한다.
+ */
+public final class AccountLockContext {
+
+    private static final ThreadLocal<Long> FENCING_TOKEN = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, Long>> FENCING_TOKENS = new ThreadLocal<>();
+
+    private AccountLockContext() {
+    }
+
+    public static Long getFencingToken() {
+        return FENCING_TOKEN.get();
+    }
+
+    /**
+     * 여러 계좌 lock 인 경우 해당 계좌의 token, 아니면 현재 lock 의 token
+     */
+    public static Long getFencingToken(String accountNumber) {
+        Map<String, Long> fencingTokens = FENCING_TOKENS.get();
+        return fencingTokens != null ? fencingTokens.get(accountNumber) : FENCING_TOKEN.get();
+    }
+
+    public static void setFencingToken(Long fencingToken) {
+        FENCING_TOKEN.set(fencingToken);
+    }
+
+    public static void setFencingTokens(Map<String, Long> fencingTokens) {
+        FENCING_TOKENS.set(fencingTokens);
+    }
+
+    public static void clear() {
+        FENCING_TOKEN.remove();
+        FENCING_TOKENS.remove();
+    }
+}
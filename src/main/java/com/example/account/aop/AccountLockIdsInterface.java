@@ -0,0 +1,10 @@
+package com.example.account.aop;
+
+import java.util.List;
+
+/**
+ * 여러 계좌를 함께 lock 하는 요청 (계좌 이체 등)
+ */
+public interface AccountLockIdsInterface {
+    List<String> getAccountNumbers();
+}
@@ -0,0 +1,14 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청은 첫 결과를 저장해두고 재요청 시 그대로 응답한다.
+ * 계좌 lock 보다 먼저 처리되므로 재요청은 lock, DB 를 거치지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
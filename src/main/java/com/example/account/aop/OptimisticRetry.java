@@ -0,0 +1,13 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * OPTIMISTIC 모드에서 낙관적 lock 충돌 시 트랜잭션 전체를 재시도
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface OptimisticRetry {
+}
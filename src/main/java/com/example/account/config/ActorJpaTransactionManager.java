@@ -0,0 +1,22 @@
+package com.example.account.config;
+
+import com.example.account.service.AccountActorExecutor;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * ACTOR 모드 트랜잭션 관리자
+ * AccountActorExecutor 의 묶음 트랜잭션에 참여한 요청이 업무 오류로 실패해도 트랜잭션 전체에 rollback 표시를 하지 않는다.
+ * (globalRollbackOnParticipationFailure=false 와 같지만 묶음 트랜잭션을 실행하는 스레드에만 적용)
+ * - 명시적으로 setRollbackOnly 한 참여 트랜잭션은 그대로 rollback 표시한다.
+ */
+public class ActorJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        if (AccountActorExecutor.isInBatch() && !status.isLocalRollbackOnly()) {
+            return;
+        }
+        super.doSetRollbackOnly(status);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * 조회 캐시
+ * - account-user : 사용자 존재 여부 (userId)
+ * - transaction : 거래 확인 응답 (transactionId)
+ * - accounts-by-user : 계좌 확인 응답 (userId) -> 잔액 변경, 계좌 생성/해지 시 삭제
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String ACCOUNT_USER = "account-user";
+    public static final String TRANSACTION = "transaction";
+    public static final String ACCOUNTS_BY_USER = "accounts-by-user";
+
+    @Bean
+    @ConditionalOnProperty(name = "account.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+                                     RedissonClient redissonClient,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                cacheProperties,
+                redissonClient,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                Arrays.asList(ACCOUNT_USER, TRANSACTION, ACCOUNTS_BY_USER));
+        // put / evict 는 커밋 이후에 반영 (롤백된 변경이 캐시에 남지 않도록)
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.cache.enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 조회 캐시 설정 (L1 : Caffeine, L2 : Redisson RMapCache)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.cache")
+public class CacheProperties {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private boolean enabled = true;
+    private long maximumSize = 10_000;   // 캐시별 L1 최대 항목 수
+    private boolean l2Enabled = false;
+    private boolean broadcastEvict = false; // L2 없이 여러 인스턴스의 L1 무효화
+    private Map<String, Duration> ttl = new HashMap<>(); // 캐시 이름 -> TTL
+
+    public Duration ttlOf(String cacheName) {
+        return ttl.getOrDefault(cacheName, DEFAULT_TTL);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.account.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile(FaultInjectionConfig.PROFILE)
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+public class FaultInjectionConfig {
+    public static final String PROFILE = "fault-injection";
+}
@@ -0,0 +1,35 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 지연/장애 주입 설정 (fault-injection 프로파일에서만 사용)
+ * key : 컨트롤러 매핑 경로 (ex. "[/transaction/use]")
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fault.injection")
+public class FaultInjectionProperties {
+
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private Distribution distribution = Distribution.FIXED;
+        private long fixedMs;   // FIXED
+        private long minMs;     // UNIFORM
+        private long maxMs;     // UNIFORM, EXPONENTIAL 상한 (0이면 상한 없음)
+        private long meanMs;    // EXPONENTIAL
+        private double failureRate; // 0.0 ~ 1.0
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, EXPONENTIAL
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.config;
+
+import com.example.account.service.IdempotencyStore;
+import com.example.account.service.LocalIdempotencyStore;
+import com.example.account.service.RedisIdempotencyStore;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * account.idempotency.store : redis(기본값) | local
+ * - redis : 인스턴스 간 공유 ("IDEMPOTENCY" RMapCache)
+ * - local : 인스턴스별 Caffeine 캐시
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "account.idempotency.store", havingValue = "redis", matchIfMissing = true)
+    public IdempotencyStore redisIdempotencyStore(RedissonClient redissonClient) {
+        return new RedisIdempotencyStore(redissonClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.idempotency.store", havingValue = "local")
+    public IdempotencyStore localIdempotencyStore(IdempotencyProperties idempotencyProperties) {
+        return new LocalIdempotencyStore(idempotencyProperties.getMaximumSize());
+    }
+}
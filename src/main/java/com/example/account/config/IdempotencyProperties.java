@@ -0,0 +1,22 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 결과 저장소 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private String store = "redis";                   // redis | local
+    private Duration ttl = Duration.ofHours(24);      // 결과 보관 시간
+    private Duration pendingTtl = Duration.ofSeconds(60); // 처리 중 표시 보관 시간 (인스턴스 장애 대비, lock 대기 + 임대 시간 이상)
+    private long maximumSize = 100_000;               // local 최대 항목 수
+}
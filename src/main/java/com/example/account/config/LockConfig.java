@@ -0,0 +1,82 @@
+package com.example.account.config;
+
+import com.example.account.service.FailoverLockService;
+import com.example.account.service.HybridLockService;
+import com.example.account.service.LocalLockService;
+import com.example.account.service.LockCircuitBreaker;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.LockService;
+import com.example.account.service.RedisLockService;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * account.lock.mode : redis(기본값) | local | hybrid
+ * redis, hybrid 는 Redis 장애 시 account.lock.redis.failure-policy 로 처리한다. (FailoverLockService)
+ */
+@Configuration
+@EnableConfigurationProperties(LockProperties.class)
+public class LockConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.mode", havingValue = "redis", matchIfMissing = true)
+    public LockService redisLockService(RedissonClient redissonClient,
+                                        LockProperties lockProperties,
+                                        LockMetrics lockMetrics) {
+        return newFailoverLockService(
+                newRedisLockService(redissonClient, lockProperties),
+                newLocalLockService(lockProperties),
+                lockProperties, lockMetrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.mode", havingValue = "local")
+    public LockService localLockService(LockProperties lockProperties) {
+        return newLocalLockService(lockProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.mode", havingValue = "hybrid")
+    public LockService hybridLockService(RedissonClient redissonClient,
+                                         LockProperties lockProperties,
+                                         LockMetrics lockMetrics) {
+        LocalLockService localLockService = newLocalLockService(lockProperties);
+        return newFailoverLockService(
+                new HybridLockService(
+                        localLockService,
+                        newRedisLockService(redissonClient, lockProperties)),
+                localLockService,
+                lockProperties, lockMetrics);
+    }
+
+    private static FailoverLockService newFailoverLockService(LockService primary,
+                                                              LocalLockService localLockService,
+                                                              LockProperties lockProperties,
+                                                              LockMetrics lockMetrics) {
+        LockProperties.Redis redis = lockProperties.getRedis();
+        return new FailoverLockService(
+                primary,
+                localLockService,
+                new LockCircuitBreaker(
+                        redis.getCircuitBreaker().getFailureThreshold(),
+                        redis.getCircuitBreaker().getOpenDuration()),
+                redis.getFailurePolicy(),
+                lockMetrics);
+    }
+
+    private static RedisLockService newRedisLockService(RedissonClient redissonClient,
+                                                        LockProperties lockProperties) {
+        return new RedisLockService(
+                redissonClient,
+                lockProperties.getRedis().getHandleCacheSize());
+    }
+
+    private static LocalLockService newLocalLockService(LockProperties lockProperties) {
+        return new LocalLockService(
+                lockProperties.getLocal().getStripes(),
+                lockProperties.isFair());
+    }
+}
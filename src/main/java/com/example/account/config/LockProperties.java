@@ -0,0 +1,62 @@
+package com.example.account.config;
+
+import com.example.account.type.LockFailurePolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 계좌 lock 설정
+ * fencing token 은 backend 별로 발급된다. (mode 를 바꿀 경우 account.fencing_token 초기화 필요)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+
+    private String mode = "redis";           // redis | local | hybrid
+    private Duration waitTime = Duration.ofSeconds(5);
+    private Duration leaseTime = Duration.ofSeconds(15);
+    private boolean fair = false;
+    private Local local = new Local();
+    private Redis redis = new Redis();
+    private Async async = new Async();
+
+    @Getter
+    @Setter
+    public static class Local {
+        private int stripes = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Redis {
+        private int handleCacheSize = 10000;  // 재사용할 계좌별 lock 핸들 수 (초과 시 W-TinyLFU 로 덜 쓰는 계좌부터 제거)
+        private LockFailurePolicy failurePolicy = LockFailurePolicy.FAIL_CLOSED;
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    /**
+     * 연속 failureThreshold 번 Redis 오류가 나면 openDuration 동안 Redis 를 호출하지 않고 failurePolicy 로 처리한다.
+     * 이후 한 요청만 Redis 로 보내 성공하면 복구한다.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 비동기 lock 대기 (redis 모드에서만 동작, 그 외에는 요청 스레드에서 대기)
+     */
+    @Getter
+    @Setter
+    public static class Async {
+        private boolean enabled = false;
+        private int workerThreads = 32;      // lock 획득 후 본문(DB 작업)을 실행하는 스레드 수
+        private int queueCapacity = 1000;    // 실행 대기 중인 본문 수 (초과 시 lock 해제 후 실패)
+    }
+}
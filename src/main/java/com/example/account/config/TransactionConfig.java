@@ -0,0 +1,55 @@
+package com.example.account.config;
+
+import com.example.account.service.TimeOrderedTransactionIdGenerator;
+import com.example.account.service.TransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * account.transaction.id.generator : time-ordered(기본값) | uuid
+ * account.transaction.execution-mode=actor : 묶음 트랜잭션 안에서만 참여 트랜잭션의 업무 실패가 전체를 rollback 하지 않도록 설정
+ */
+@Configuration
+@EnableConfigurationProperties(TransactionProperties.class)
+public class TransactionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction.id.generator", havingValue = "time-ordered", matchIfMissing = true)
+    public TransactionIdGenerator timeOrderedTransactionIdGenerator(TransactionProperties transactionProperties) {
+        Integer nodeId = transactionProperties.getId().getNodeId();
+        return new TimeOrderedTransactionIdGenerator(
+                nodeId != null ? nodeId : defaultNodeId());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction.id.generator", havingValue = "uuid")
+    public TransactionIdGenerator uuidTransactionIdGenerator() {
+        return new UuidTransactionIdGenerator();
+    }
+
+    /**
+     * ACTOR 모드는 연속 요청을 하나의 트랜잭션으로 묶는다. (AccountActorExecutor)
+     * 잔액 사용/취소는 검증 실패 시 변경 전에 예외를 던지므로, 실패한 요청만 빠지고 나머지는 커밋한다.
+     * 묶음 트랜잭션 밖의 rollback 동작은 기본 JpaTransactionManager 와 같다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction.execution-mode", havingValue = "actor")
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        ActorJpaTransactionManager transactionManager = new ActorJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    private static long defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName().hashCode() & 0xFFFF;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.account.config;
+
+import com.example.account.type.ExecutionMode;
+import com.example.account.type.ExportFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 사용/취소 실행 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.transaction")
+public class TransactionProperties {
+
+    private ExecutionMode executionMode = ExecutionMode.LOCK;
+    private Retry retry = new Retry();
+    private FailedRecord failedRecord = new FailedRecord();
+    private Id id = new Id();
+    private Actor actor = new Actor();
+    private Export export = new Export();
+    private Ledger ledger = new Ledger();
+
+    public boolean isLockRequired() {
+        return executionMode == ExecutionMode.LOCK || executionMode == ExecutionMode.LEDGER;
+    }
+
+    /**
+     * OPTIMISTIC 모드 재시도 (jitter 를 적용한 지수 backoff)
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofMillis(5);
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+
+    /**
+     * 실패 거래 기록 (bounded queue + 백그라운드 JDBC batch insert)
+     */
+    @Getter
+    @Setter
+    public static class FailedRecord {
+        private int queueCapacity = 10000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(200);
+        // queue 가 가득 찬 경우 요청 스레드가 기다리는 최대 시간 (초과 시 기록 유실)
+        private Duration offerTimeout = Duration.ofMillis(10);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 거래 아이디 발급
+     * generator : time-ordered(기본값) | uuid
+     * nodeId : 0 ~ 65535, 없으면 프로세스 이름(pid@host)에서 만든다.
+     */
+    @Getter
+    @Setter
+    public static class Id {
+        private String generator = "time-ordered";
+        private Integer nodeId;
+    }
+
+    /**
+     * ACTOR 모드 계좌별 단일 writer
+     * 계좌별 queue 에 쌓인 요청을 최대 batchSize 건씩 한 트랜잭션으로 처리한다.
+     * idleTimeout 동안 요청이 없는 계좌의 queue 는 제거한다.
+     */
+    @Getter
+    @Setter
+    public static class Actor {
+        private int workerThreads = 16;
+        private int batchSize = 100;
+        private int queueCapacity = 10000;   // 계좌별 대기 요청 수 (초과 시 실패)
+        private Duration idleTimeout = Duration.ofSeconds(60);
+    }
+
+    /**
+     * 거래 내보내기 (JDBC cursor)
+     * file 이 있으면 시작 시 from ~ to 기간의 거래를 파일로 내보내고 종료한다. (TransactionExportRunner)
+     */
+    @Getter
+    @Setter
+    public static class Export {
+        private int fetchSize = 1000;
+        private Path file;
+        private ExportFormat format = ExportFormat.NDJSON;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime from;   // 포함
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime to;     // 미포함
+    }
+
+    /**
+     * LEDGER 모드 잔액 체크포인트
+     * checkpointInterval 마다 그 사이 거래가 있었던 계좌의 잔액(체크포인트 + 이후 거래)을 체크포인트로 기록한다.
+     */
+    @Getter
+    @Setter
+    public static class Ledger {
+        private Duration checkpointInterval = Duration.ofSeconds(10);
+    }
+}
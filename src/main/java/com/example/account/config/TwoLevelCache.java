@@ -0,0 +1,165 @@
+package com.example.account.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2단계 캐시
+ * - 조회 : L1(Caffeine) -> L2(RMapCache) -> 원본, L2 에서 찾은 값은 L1 에 다시 채운다.
+ * - 삭제 : L1, L2 에서 지우고 evictTopic 으로 다른 인스턴스의 L1 도 지우게 한다.
+ *   (커밋 이후에 실행되므로 Redis 오류는 로그만 남기고 호출자에게 던지지 않는다.)
+ * - null 은 저장하지 않는다.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    @Nullable
+    private final RMapCache<Object, Object> remote;
+    private final long remoteTtlMillis;
+    @Nullable
+    private final RTopic evictTopic;
+
+    private final Counter l1Hit;
+    private final Counter l2Hit;
+    private final Counter miss;
+    private final Counter eviction;
+
+    public TwoLevelCache(String name,
+                         Cache<Object, Object> local,
+                         @Nullable RMapCache<Object, Object> remote,
+                         Duration remoteTtl,
+                         @Nullable RTopic evictTopic,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteTtlMillis = remoteTtl.toMillis();
+        this.evictTopic = evictTopic;
+
+        this.l1Hit = meterRegistry.counter("account.cache.gets", "cache", name, "result", "l1_hit");
+        this.l2Hit = meterRegistry.counter("account.cache.gets", "cache", name, "result", "l2_hit");
+        this.miss = meterRegistry.counter("account.cache.gets", "cache", name, "result", "miss");
+        this.eviction = meterRegistry.counter("account.cache.evictions", "cache", name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            l1Hit.increment();
+            return value;
+        }
+
+        if (remote != null) {
+            value = remote.get(key);
+            if (value != null) {
+                local.put(key, value);
+                l2Hit.increment();
+                return value;
+            }
+        }
+
+        miss.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            return;
+        }
+
+        local.put(key, value);
+        if (remote != null) {
+            remote.fastPut(key, value, remoteTtlMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        eviction.increment();
+        local.invalidate(key);
+
+        if (remote != null) {
+            try {
+                remote.fastRemoveAsync(key)
+                        .whenComplete((removed, e) -> logEvictFailure(key, e));
+            } catch (RuntimeException e) {
+                logEvictFailure(key, e);
+            }
+        }
+        if (evictTopic != null) {
+            try {
+                evictTopic.publishAsync(key)
+                        .whenComplete((receivers, e) -> logEvictFailure(key, e));
+            } catch (RuntimeException e) {
+                logEvictFailure(key, e);
+            }
+        }
+    }
+
+    private void logEvictFailure(Object key, @Nullable Throwable e) {
+        if (e != null) {
+            log.warn("Failed to evict remote cache. cache : {}, key : {}", name, key, e);
+        }
+    }
+
+    /**
+     * 다른 인스턴스의 evict 알림 (L1 만 삭제)
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * 다른 인스턴스의 L1 은 TTL 로 만료된다.
+     */
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remote != null) {
+            remote.clear();
+        }
+    }
+}
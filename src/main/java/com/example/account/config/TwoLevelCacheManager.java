@@ -0,0 +1,70 @@
+package com.example.account.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * 미리 정한 이름의 TwoLevelCache 만 제공한다.
+ * - L2 : "CACHE:{name}" (account.cache.l2-enabled)
+ * - evict 알림 : "CACHE:EVICT:{name}" (L2 사용 또는 account.cache.broadcast-evict 일 때만 인스턴스 간 L1 무효화)
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheProperties cacheProperties;
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final Collection<String> cacheNames;
+
+    public TwoLevelCacheManager(CacheProperties cacheProperties,
+                                RedissonClient redissonClient,
+                                MeterRegistry meterRegistry,
+                                Collection<String> cacheNames) {
+        this.cacheProperties = cacheProperties;
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.cacheNames = cacheNames;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream()
+                .map(this::createCache)
+                .collect(Collectors.toList());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Duration ttl = cacheProperties.ttlOf(name);
+
+        RMapCache<Object, Object> remote = cacheProperties.isL2Enabled()
+                ? redissonClient.getMapCache("CACHE:" + name)
+                : null;
+        RTopic evictTopic = cacheProperties.isL2Enabled() || cacheProperties.isBroadcastEvict()
+                ? redissonClient.getTopic("CACHE:EVICT:" + name)
+                : null;
+
+        TwoLevelCache cache = new TwoLevelCache(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(cacheProperties.getMaximumSize())
+                        .expireAfterWrite(ttl)
+                        .build(),
+                remote,
+                ttl,
+                evictTopic,
+                meterRegistry);
+
+        if (evictTopic != null) {
+            evictTopic.addListener(Object.class, (channel, key) -> cache.evictLocal(key));
+        }
+        return cache;
+    }
+}
@@ -9,7 +9,6 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 계좌 관련 컨트롤러
@@ -51,11 +50,7 @@ public class AccountController {
     /*계좌 확인*/
     @GetMapping("/account")
     public List<AccountInfo> getAccountByUserId(@RequestParam(value = "user_id") @Valid Long userId) {
-        return accountService.getAccountByUserId(userId).stream()
-                .map(accountDto -> AccountInfo.builder()
-                        .accountNumber(accountDto.getAccountNumber())
-                        .balance(accountDto.getBalance()).build())
-                .collect(Collectors.toList());
+        return accountService.getAccountByUserId(userId);
     }
 
 
@@ -1,22 +1,41 @@
 package com.example.account.controller;
 
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.Idempotent;
+import com.example.account.dto.BatchTransaction;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionExport;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransferBalance;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
+import com.example.account.service.BatchTransactionService;
+import com.example.account.service.TransactionExportService;
 import com.example.account.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래 확인
+ * 4. 일괄 잔액 사용/취소
+ * 5. 계좌 이체
+ * 6. 계좌 거래 내역
+ * 7. 거래 내보내기
+ *
+ * 계좌 lock 을 잡는 API 는 CompletableFuture 를 반환한다.
+ * account.lock.async.enabled=true 인 경우 lock 을 기다리는 동안 요청 스레드를 반납한다. (LockAopAspect)
+ * 잔액 사용/취소는 Idempotency-Key 헤더로 재요청 시 첫 결과를 그대로 응답한다. (IdempotencyAspect)
  */
 
 @Slf4j
@@ -25,18 +44,20 @@ import javax.validation.Valid;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final BatchTransactionService batchTransactionService;
+    private final TransactionExportService transactionExportService;
 
     @PostMapping("/transaction/use")
+    @Idempotent
     @AccountLock
-    public UseBalance.Response useBalance(
-            @Valid @RequestBody UseBalance.Request request) throws InterruptedException {
+    public CompletableFuture<UseBalance.Response> useBalance(
+            @Valid @RequestBody UseBalance.Request request) {
 
         try {
-            Thread.sleep(5000L);
-            return UseBalance.Response.from(
+            return CompletableFuture.completedFuture(UseBalance.Response.from(
                     transactionService.useBalance(request.getUserId(),
                             request.getAccountNumber(), request.getAmount())
-            );
+            ));
         } catch (AccountException e) {
             log.error("Failed to use balance.");
 
@@ -51,15 +72,16 @@ public class TransactionController {
     }
 
     @PostMapping("/transaction/cancel")
+    @Idempotent
     @AccountLock
-    public CancelBalance.Response useBalance(
+    public CompletableFuture<CancelBalance.Response> useBalance(
             @Valid @RequestBody CancelBalance.Request request) {
 
         try {
-            return CancelBalance.Response.from(
+            return CompletableFuture.completedFuture(CancelBalance.Response.from(
                     transactionService.cancelBalance(request.getTransactionId(),
                             request.getAccountNumber(), request.getAmount())
-            );
+            ));
         } catch (AccountException e) {
             log.error("Failed to cancel balance.");
 
@@ -73,11 +95,68 @@ public class TransactionController {
 
     }
 
+    @PostMapping("/transaction/transfer")
+    @AccountLock
+    public CompletableFuture<TransferBalance.Response> transferBalance(
+            @Valid @RequestBody TransferBalance.Request request) {
+
+        try {
+            return CompletableFuture.completedFuture(TransferBalance.Response.from(
+                    transactionService.transferBalance(request.getUserId(),
+                            request.getFromAccountNumber(), request.getToAccountNumber(),
+                            request.getAmount())
+            ));
+        } catch (AccountException e) {
+            log.error("Failed to transfer balance.");
+
+            transactionService.saveFailedTransferTransaction(
+                    request.getFromAccountNumber(),
+                    request.getAmount()
+            );
+
+            throw e;
+        }
+
+    }
+
+    /**
+     * 계좌별로 lock 을 한 번만 잡고 계좌당 하나의 트랜잭션으로 처리한다.
+     * 항목별 실패는 응답의 transactionResult, errorCode 로 확인한다.
+     */
+    @PostMapping("/transaction/batch")
+    public BatchTransaction.Response batch(
+            @Valid @RequestBody BatchTransaction.Request request) {
+        return new BatchTransaction.Response(
+                batchTransactionService.process(request.getItems()));
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse queryTransaction(
             @PathVariable String transactionId){
-        return QueryTransactionResponse.from(
-                transactionService.queryTransaction(transactionId));
+        return transactionService.queryTransaction(transactionId);
+    }
+
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @Valid TransactionHistory.Request request) {
+        return transactionService.getTransactionHistory(accountNumber, request);
+    }
+
+    /**
+     * 기간의 거래를 NDJSON 또는 CSV 로 응답 스트림에 바로 쓴다. (요청 스레드에서 끝까지 처리)
+     */
+    @GetMapping("/transaction/export")
+    public void exportTransactions(
+            @Valid TransactionExport.Request request,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(request.getFormat().getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + request.getFormat().getExtension() + "\"");
+
+        transactionExportService.export(request.getFrom(), request.getTo(),
+                request.getFormat(), response.getOutputStream());
     }
 
 }
@@ -8,7 +8,12 @@ import lombok.*;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Getter
@@ -17,30 +22,85 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(uniqueConstraints = {
+        // findByAccountNumber, 잔액 변경 쿼리가 모두 계좌 번호로 조회 (unique index 로 생성됨)
+        @UniqueConstraint(name = "uk_account_account_number", columnNames = "accountNumber")
+})
 public class Account extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser; // H2에 user와 충돌X면 accountUser로 명명
     private String accountNumber;
 
     @Enumerated(EnumType.STRING)  // Enum 순번이 아닌 String으로
     private AccountStatus accountStatus;
-    private Long balance;
+    private Long balance;      // LEDGER 모드 : 첫 체크포인트 전 잔액 (변경하지 않음)
+    private Long fencingToken; // 마지막으로 잔액을 변경한 lock 의 fencing token
+
+    @Version
+    private Long version;      // 낙관적 lock (OPTIMISTIC 모드)
 
     private LocalDateTime registeredAt;
     private LocalDateTime unregisteredAt;
 
+    // LEDGER 모드 : 체크포인트 + 이후 거래로 계산한 잔액과 마지막 거래 순번 (BalanceLedger.open, 저장하지 않음)
+    @Transient
+    private Long ledgerBalance;
+    @Transient
+    private Long ledgerSequence;
+
+    /**
+     * LEDGER 모드에서는 계산한 잔액
+     */
+    public Long getBalance() {
+        return ledgerBalance != null ? ledgerBalance : balance;
+    }
+
+    public void openLedger(long ledgerBalance, long ledgerSequence) {
+        this.ledgerBalance = ledgerBalance;
+        this.ledgerSequence = ledgerSequence;
+    }
+
+    public boolean isLedgerOpened() {
+        return ledgerBalance != null;
+    }
+
+    /**
+     * @return 다음 거래 순번 (LEDGER 모드가 아니면 null)
+     */
+    public Long nextLedgerSequence() {
+        return ledgerSequence != null ? ++ledgerSequence : null;
+    }
+
     public void useBalance(Long amount) {
-        if (amount > balance) {
+        if (amount > getBalance()) {
             throw new AccountException(ErrorCode.BALANCE_NOT_EMPTY);
         }
-        balance -= amount;
+        changeBalance(-amount);
+    }
+
+    public void depositBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        changeBalance(amount);
     }
 
     public void cancelBalance(Long amount) {
         if (amount < 0) {
             throw new AccountException(ErrorCode.INVALID_REQUEST);
         }
-        balance += amount;
+        changeBalance(amount);
+    }
+
+    /**
+     * LEDGER 모드에서는 계좌 row 를 변경하지 않는다. (거래 insert 로만 잔액이 바뀜)
+     */
+    private void changeBalance(long amount) {
+        if (ledgerBalance != null) {
+            ledgerBalance += amount;
+        } else {
+            balance += amount;
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * LEDGER 모드 계좌 잔액 체크포인트 (계좌당 하나)
+ * ledgerSequence 까지의 거래를 반영한 잔액. 잔액 = balance + ledgerSequence 이후 거래 합계
+ * 없으면 계좌 잔액(Account.balance)과 순번 0 에서 시작한다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_checkpoint_account_id", columnNames = "account_id")
+})
+public class BalanceCheckpoint extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+    private Long balance;
+    private Long ledgerSequence;
+}
@@ -6,7 +6,11 @@ import lombok.*;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 @Getter
@@ -15,18 +19,41 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(
+        uniqueConstraints = {
+                // findByTransactionId (거래 조회, 사용 취소)
+                @UniqueConstraint(name = "uk_transaction_transaction_id", columnNames = "transactionId"),
+                // 상대 거래는 하나 (같은 원거래를 두 번 취소하는 동시 요청은 insert 에서 실패)
+                @UniqueConstraint(name = "uk_transaction_linked_transaction_id", columnNames = "linkedTransactionId"),
+                // LEDGER 모드 계좌별 거래 순번 (같은 순번을 쓰는 동시 거래는 insert 에서 실패, 체크포인트 이후 합계 범위)
+                @UniqueConstraint(name = "uk_transaction_account_ledger_sequence", columnNames = {"account_id", "ledgerSequence"})
+        },
+        indexes = {
+                // 계좌별 거래 내역 (최근 거래 순, 같은 시각은 id 순 : keyset 페이지)
+                @Index(name = "idx_transaction_account_transacted_at", columnList = "account_id, transactedAt, id"),
+                // 기간별 거래 내보내기 (TransactionExportService : 계좌 조건 없이 거래 시각 범위)
+                @Index(name = "idx_transaction_transacted_at", columnList = "transactedAt")
+        }
+)
 public class Transaction extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResult;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
     private Long amount;
     private Long balanceSnapshot;
 
     private String transactionId;
+    private String linkedTransactionId; // 계좌 이체의 상대 거래 (출금 <-> 입금), 사용 취소의 원거래
+    private boolean cancelled;          // 사용 취소된 원거래
+    private Long ledgerSequence;        // LEDGER 모드 성공 거래의 계좌별 순번 (1부터, 다른 모드와 실패 거래는 null)
     private LocalDateTime transactedAt;
 
+    public void cancel() {
+        this.cancelled = true;
+    }
+
 }
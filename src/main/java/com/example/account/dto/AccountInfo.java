@@ -3,12 +3,16 @@ package com.example.account.dto;
 import com.example.account.domain.Account;
 import lombok.*;
 
+import java.io.Serializable;
+
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class AccountInfo {
+public class AccountInfo implements Serializable {  // 캐시 L2 저장
+    private static final long serialVersionUID = 1L;
+
     private String accountNumber;
     private Long balance;
 }
@@ -0,0 +1,141 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+
+public class BatchTransaction {
+
+    /**
+     * {
+     *      "items":[
+     *          {"use":{"userId":1,"accountNumber":"1000000000","amount":1000}},
+     *          {"cancel":{"transactionId":"c2033bb6d82a4250aecf8e27c49b63f6","accountNumber":"1000000000","amount":1000}}
+     *      ]
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)
+        @Valid
+        private List<Item> items;
+    }
+
+    /**
+     * 잔액 사용 또는 잔액 사용 취소 요청 중 하나
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Item implements AccountLockIdInterface {
+        @Valid
+        private UseBalance.Request use;
+        @Valid
+        private CancelBalance.Request cancel;
+
+        @JsonIgnore
+        @AssertTrue
+        public boolean isSingleOperation() {
+            return (use == null) != (cancel == null);
+        }
+
+        @JsonIgnore
+        @Override
+        public String getAccountNumber() {
+            return use != null ? use.getAccountNumber() : cancel.getAccountNumber();
+        }
+
+        @JsonIgnore
+        public TransactionType getTransactionType() {
+            return use != null ? USE : CANCEL;
+        }
+
+        @JsonIgnore
+        public Long getAmount() {
+            return use != null ? use.getAmount() : cancel.getAmount();
+        }
+    }
+
+    /**
+     * {
+     *      "results":[
+     *          {"accountNumber":"1000000000","transactionType":"USE","transactionResult":"S",
+     *           "transactionId":"...","amount":1000,"transactedAt":"2022-06-01T23:26:14.671859"},
+     *          {"accountNumber":"1000000000","transactionType":"CANCEL","transactionResult":"F",
+     *           "transactionId":"...","amount":1000,"transactedAt":"...","errorCode":"TRANSACTION_NOT_FOUND"}
+     *      ]
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Response {
+        private List<Result> results;
+    }
+
+    /**
+     * 요청 항목별 결과 (요청 순서)
+     * 실패 거래 기록이 저장되지 않은 경우 transactionId 는 없다.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Result {
+        private String accountNumber;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+
+        public static Result from(TransactionDto transactionDto) {
+            return from(transactionDto, null);
+        }
+
+        public static Result from(TransactionDto transactionDto, ErrorCode errorCode) {
+            return Result.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionType(transactionDto.getTransactionType())
+                    .transactionResult(transactionDto.getTransactionResult())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .errorCode(errorCode)
+                    .build();
+        }
+
+        public static Result failed(Item item, ErrorCode errorCode) {
+            return Result.builder()
+                    .accountNumber(item.getAccountNumber())
+                    .transactionType(item.getTransactionType())
+                    .transactionResult(F)
+                    .amount(item.getAmount())
+                    .errorCode(errorCode)
+                    .build();
+        }
+    }
+}
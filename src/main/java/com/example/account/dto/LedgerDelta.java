@@ -0,0 +1,17 @@
+package com.example.account.dto;
+
+import lombok.Getter;
+
+/**
+ * LEDGER 모드 체크포인트 이후 거래 합계
+ */
+@Getter
+public class LedgerDelta {
+    private final long amount;          // 입금/사용 취소(+), 사용/출금(-) 합계
+    private final Long lastSequence;    // 마지막 거래 순번 (거래가 없으면 null)
+
+    public LedgerDelta(Long amount, Long lastSequence) {
+        this.amount = amount != null ? amount : 0L;
+        this.lastSequence = lastSequence;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.*;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Getter
@@ -11,7 +12,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class QueryTransactionResponse {
+public class QueryTransactionResponse implements Serializable {  // 캐시 L2 저장
+    private static final long serialVersionUID = 1L;
+
     private String accountNumber;
     private TransactionType transactionType;
     private TransactionResultType transactionResult;
@@ -0,0 +1,38 @@
+package com.example.account.dto;
+
+import com.example.account.type.ExportFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class TransactionExport {
+
+    /**
+     * GET /transaction/export?from=2022-06-01T00:00:00&to=2022-07-01T00:00:00&format=CSV
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request {
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime from;   // 포함
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime to;     // 미포함
+        @Builder.Default
+        private ExportFormat format = ExportFormat.NDJSON;
+
+        @JsonIgnore
+        @AssertTrue
+        public boolean isValidRange() {
+            return from == null || to == null || from.isBefore(to);
+        }
+    }
+}
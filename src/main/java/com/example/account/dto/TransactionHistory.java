@@ -0,0 +1,97 @@
+package com.example.account.dto;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+public class TransactionHistory {
+
+    /**
+     * GET /account/{accountNumber}/transactions?type=USE&result=S&from=2022-06-01T00:00:00&to=2022-07-01T00:00:00&size=100
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 전달한다.
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request {
+        private TransactionType type;
+        private TransactionResultType result;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime from;   // 포함
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime to;     // 미포함
+        private String cursor;
+        @Min(1)
+        @Max(1000)
+        @Builder.Default
+        private int size = 100;
+    }
+
+    /**
+     * {
+     *      "accountNumber":"1000000000",
+     *      "transactions":[
+     *          {"transactionId":"...","transactionType":"USE","transactionResult":"S","amount":1000,
+     *           "balanceSnapshot":9000,"cancelled":false,"transactedAt":"2022-06-01T23:26:14.671859"}
+     *      ],
+     *      "nextCursor":"MjAyMi0wNi0wMVQyMzoyNjoxNC42NzE4NTlfMw"
+     * }
+     * nextCursor 가 null 이면 마지막 페이지
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private List<TransactionHistoryItem> transactions;
+        private String nextCursor;
+    }
+
+    /**
+     * 마지막으로 읽은 거래의 (transactedAt, id)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private static final char SEPARATOR = '_';
+
+        private final LocalDateTime transactedAt;
+        private final long id;
+
+        public static Cursor from(TransactionHistoryItem item) {
+            return new Cursor(item.getTransactedAt(), item.getId());
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (transactedAt.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.lastIndexOf(SEPARATOR);
+                return new Cursor(
+                        LocalDateTime.parse(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 거래 내역 항목 (projection)
+ * id 는 다음 페이지 cursor 에만 사용한다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionHistoryItem {
+    @JsonIgnore
+    private Long id;
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResult;
+    private Long amount;
+    private Long balanceSnapshot;
+    private boolean cancelled;
+    private LocalDateTime transactedAt;
+}
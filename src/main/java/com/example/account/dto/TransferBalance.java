@@ -0,0 +1,85 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockIdsInterface;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TransferBalance {
+
+    /**
+     * {
+     *      "userId":1,
+     *      "fromAccountNumber":"1000000000",
+     *      "toAccountNumber":"1000000001",
+     *      "amount":1000
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request implements AccountLockIdsInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String fromAccountNumber;
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        @JsonIgnore
+        @Override
+        public List<String> getAccountNumbers() {
+            return List.of(fromAccountNumber, toAccountNumber);
+        }
+    }
+
+    /**
+     * {
+     *      "fromAccountNumber":"1000000000",
+     *      "toAccountNumber":"1000000001",
+     *      "transactionResult":"S",
+     *      "withdrawTransactionId":"0184a5f3c2e1000ba3f1c09d2e4b7a10",
+     *      "depositTransactionId":"0184a5f3c2e1000ba3f1c09d2e4b7a11",
+     *      "amount":1000,
+     *      "transactedAt":"2022-06-01T23:26:14.671859"
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private TransactionResultType transactionResult;
+        private String withdrawTransactionId;
+        private String depositTransactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+
+        public static Response from(TransferDto transferDto) {
+            return Response.builder()
+                    .fromAccountNumber(transferDto.getFromAccountNumber())
+                    .toAccountNumber(transferDto.getToAccountNumber())
+                    .transactionResult(transferDto.getTransactionResult())
+                    .withdrawTransactionId(transferDto.getWithdrawTransactionId())
+                    .depositTransactionId(transferDto.getDepositTransactionId())
+                    .amount(transferDto.getAmount())
+                    .transactedAt(transferDto.getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Transaction;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 이체 결과 (출금/입금 거래 한 쌍)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransferDto {
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private TransactionResultType transactionResult;
+    private Long amount;
+    private Long balanceSnapshot;       // 출금 계좌 잔액
+    private String withdrawTransactionId;
+    private String depositTransactionId;
+    private LocalDateTime transactedAt;
+
+    public static TransferDto fromEntities(Transaction withdraw, Transaction deposit) {
+        return TransferDto.builder()
+                .fromAccountNumber(withdraw.getAccount().getAccountNumber())
+                .toAccountNumber(deposit.getAccount().getAccountNumber())
+                .transactionResult(withdraw.getTransactionResult())
+                .amount(withdraw.getAmount())
+                .balanceSnapshot(withdraw.getBalanceSnapshot())
+                .withdrawTransactionId(withdraw.getTransactionId())
+                .depositTransactionId(deposit.getTransactionId())
+                .transactedAt(withdraw.getTransactedAt())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.account.dto.ErrorResponse;
 import com.example.account.type.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -37,6 +38,14 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
 
+    // 쿼리 파라미터 바인딩, 검증 실패 (@Valid 모델 객체)
+    @ExceptionHandler(BindException.class)
+    public ErrorResponse handleBindException(BindException e) {
+        log.error("BindException is occured.", e);
+
+        return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
+    }
+
     // Exception 예외 사항
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
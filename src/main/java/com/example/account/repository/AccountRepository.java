@@ -2,19 +2,90 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
-
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /**
+     * 계좌 row lock (select ... for update, 커밋 시까지 유지)
+     * LOCKLESS 모드의 일괄 처리에서 계좌 lock 대신 사용한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findForUpdateByAccountNumber(@Param("accountNumber") String accountNumber);
+
     Integer countByAccountUser(AccountUser accountUser);
 
     List<Account> findByAccountUser(AccountUser user);
+
+    /**
+     * 계좌 확인 (읽기 전용)
+     * 엔티티를 만들지 않고 필요한 컬럼만 AccountInfo 로 바로 조회
+     */
+    @Query("select new com.example.account.dto.AccountInfo(a.accountNumber, a.balance) " +
+            "from Account a where a.accountUser.id = :userId")
+    List<AccountInfo> findAccountInfosByUserId(@Param("userId") Long userId);
+
+    /**
+     * 계좌 확인 (LEDGER 모드)
+     * 잔액 = 체크포인트 잔액(없으면 계좌 잔액) + 체크포인트 순번 이후 거래 합계
+     */
+    @Query("select new com.example.account.dto.AccountInfo(a.accountNumber, " +
+            "coalesce(c.balance, a.balance) + coalesce(sum(" + TransactionRepository.LEDGER_AMOUNT + "), 0)) " +
+            "from Account a " +
+            "left join BalanceCheckpoint c on c.account = a " +
+            "left join Transaction t on t.account = a " +
+            "and t.ledgerSequence > coalesce(c.ledgerSequence, 0) " +
+            "where a.accountUser.id = :userId " +
+            "group by a.id, a.accountNumber, a.balance, c.balance")
+    List<AccountInfo> findLedgerAccountInfosByUserId(@Param("userId") Long userId);
+
+    /**
+     * 더 큰 fencing token 인 경우에만 기록 (row lock 은 커밋 시까지 유지된다.)
+     * @return 0 : 계좌가 없거나 더 최신 token 이 이미 기록된 경우
+     */
+    @Modifying
+    @Query("update Account a set a.fencingToken = :fencingToken " +
+            "where a.accountNumber = :accountNumber " +
+            "and (a.fencingToken is null or a.fencingToken < :fencingToken)")
+    int updateFencingToken(@Param("accountNumber") String accountNumber,
+                           @Param("fencingToken") Long fencingToken);
+
+    /**
+     * 조건부 잔액 차감 (LOCKLESS 모드)
+     * @return 0 : 사용자 불일치, 잔액 부족, 해지 계좌 등
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.accountNumber = :accountNumber and a.accountUser.id = :userId " +
+            "and a.balance >= :amount " +
+            "and a.accountStatus = com.example.account.type.AccountStatus.IN_USE")
+    int debitBalance(@Param("accountNumber") String accountNumber,
+                     @Param("userId") Long userId,
+                     @Param("amount") Long amount);
+
+    /**
+     * 조건부 잔액 복구 (LOCKLESS 모드)
+     * @return 0 : 계좌가 없거나 해지된 경우
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, " +
+            "a.version = a.version + 1, a.updatedAt = current_timestamp " +
+            "where a.accountNumber = :accountNumber " +
+            "and a.accountStatus = com.example.account.type.AccountStatus.IN_USE")
+    int creditBalance(@Param("accountNumber") String accountNumber,
+                      @Param("amount") Long amount);
 }
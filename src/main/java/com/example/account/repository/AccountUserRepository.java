@@ -1,10 +1,18 @@
 package com.example.account.repository;
 
+import com.example.account.config.CacheConfig;
 import com.example.account.domain.AccountUser;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
 
+    /**
+     * 사용자는 삭제되지 않으므로 존재하는 경우만 캐시한다.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_USER, unless = "!#result")
+    boolean existsById(Long id);
 }
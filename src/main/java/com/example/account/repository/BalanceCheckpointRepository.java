@@ -0,0 +1,28 @@
+package com.example.account.repository;
+
+import com.example.account.domain.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    Optional<BalanceCheckpoint> findByAccountId(Long accountId);
+
+    /**
+     * 더 뒤의 순번인 경우에만 체크포인트를 옮긴다. (여러 인스턴스가 같은 계좌를 기록해도 뒤로 가지 않음)
+     * @return 0 : 체크포인트가 없거나 이미 같거나 더 뒤의 순번인 경우
+     */
+    @Modifying
+    @Query("update BalanceCheckpoint c set c.balance = :balance, c.ledgerSequence = :ledgerSequence, " +
+            "c.updatedAt = current_timestamp " +
+            "where c.account.id = :accountId and c.ledgerSequence < :ledgerSequence")
+    int advance(@Param("accountId") Long accountId,
+                @Param("balance") Long balance,
+                @Param("ledgerSequence") Long ledgerSequence);
+}
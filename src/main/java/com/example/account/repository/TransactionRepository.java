@@ -1,14 +1,88 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.LedgerDelta;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * LEDGER 모드 거래 금액 (사용, 출금은 차감)
+     */
+    String LEDGER_AMOUNT = "case when t.transactionType in (" + TransactionType.LEDGER_DEBITS + ") " +
+            "then -t.amount else t.amount end";
+
     Optional<Transaction> findByTransactionId(String transactionId);
 
+    /**
+     * 거래 확인 (읽기 전용)
+     * 엔티티를 만들지 않고 계좌 번호와 거래 컬럼만 QueryTransactionResponse 로 바로 조회
+     */
+    @Query("select new com.example.account.dto.QueryTransactionResponse(" +
+            "a.accountNumber, t.transactionType, t.transactionResult, " +
+            "t.transactionId, t.amount, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where t.transactionId = :transactionId")
+    Optional<QueryTransactionResponse> findQueryResponseByTransactionId(
+            @Param("transactionId") String transactionId);
+
+    /**
+     * 계좌 거래 내역 (최근 거래 순, keyset)
+     * (account_id, transacted_at, id) index 에서 cursor 이전 범위만 읽는다. (offset 으로 건너뛰지 않음)
+     * - cursor 는 마지막으로 읽은 거래의 (transactedAt, id), 첫 페이지는 (to, Long.MIN_VALUE)
+     * - pageable 은 조회 건수만 사용한다. (count 쿼리 없음)
+     */
+    @Query("select new com.example.account.dto.TransactionHistoryItem(" +
+            "t.id, t.transactionId, t.transactionType, t.transactionResult, " +
+            "t.amount, t.balanceSnapshot, t.cancelled, t.transactedAt) " +
+            "from Transaction t " +
+            "where t.account.id = :accountId " +
+            "and t.transactedAt >= :from and t.transactedAt <= :cursorAt " +
+            "and (t.transactedAt < :cursorAt or t.id < :cursorId) " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "and (:transactionResult is null or t.transactionResult = :transactionResult) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryItem> findHistory(@Param("accountId") Long accountId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("cursorAt") LocalDateTime cursorAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("transactionType") TransactionType transactionType,
+                                             @Param("transactionResult") TransactionResultType transactionResult,
+                                             Pageable pageable);
+
+    /**
+     * 조건부 원거래 취소 표시 (LOCKLESS 모드)
+     * 잔액 복구 UPDATE 가 영속성 컨텍스트를 비우므로 엔티티 변경 대신 바로 UPDATE 한다.
+     * @return 0 : 이미 취소된 거래
+     */
+    @Modifying
+    @Query("update Transaction t set t.cancelled = true " +
+            "where t.id = :id and t.cancelled = false")
+    int markCancelled(@Param("id") Long id);
+
+    /**
+     * LEDGER 모드 체크포인트 이후 잔액 변동
+     * (account_id, ledger_sequence) unique index 에서 체크포인트 순번 이후 범위만 읽는다.
+     */
+    @Query("select new com.example.account.dto.LedgerDelta(" +
+            "sum(" + LEDGER_AMOUNT + "), max(t.ledgerSequence)) " +
+            "from Transaction t " +
+            "where t.account.id = :accountId and t.ledgerSequence > :ledgerSequence")
+    LedgerDelta findLedgerDelta(@Param("accountId") Long accountId,
+                                @Param("ledgerSequence") Long ledgerSequence);
+
 }
@@ -0,0 +1,299 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 계좌별 단일 writer (ACTOR 모드)
+ * 같은 계좌의 요청은 계좌별 queue 에 넣고 한 번에 하나의 worker 만 순서대로 처리한다. (계좌 lock 경합 없음)
+ * - queue 에 쌓인 연속 요청은 최대 batchSize 건씩 하나의 트랜잭션에서 처리한다. (커밋, 계좌 row lock 한 번)
+ * - 업무 실패(AccountException)는 해당 요청만 실패하고 같은 트랜잭션의 다른 요청은 커밋된다.
+ *   (묶음 트랜잭션을 실행하는 동안에만 참여 트랜잭션 실패 시 전체 rollback 표시를 하지 않는다. ActorJpaTransactionManager)
+ * - 그 외 예외나 커밋 실패로 rollback 된 경우 성공했던 요청은 각자의 트랜잭션으로 다시 실행한다.
+ * - idleTimeout 동안 요청이 없는 계좌의 queue 는 제거한다.
+ * 단일 writer 는 인스턴스 안에서만 보장되므로 인스턴스 간에는 계좌 row lock 으로 직렬화한다.
+ */
+@Slf4j
+@Component
+public class AccountActorExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionProperties transactionProperties;
+    private final TransactionProperties.Actor properties;
+
+    // 현재 스레드가 묶음 트랜잭션을 실행 중인지
+    private static final ThreadLocal<Boolean> IN_BATCH = new ThreadLocal<>();
+
+    private final Map<String, AccountActor> actors = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService idleEvictor;
+
+    public AccountActorExecutor(PlatformTransactionManager transactionManager,
+                                TransactionProperties transactionProperties) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionProperties = transactionProperties;
+        this.properties = transactionProperties.getActor();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (transactionProperties.getExecutionMode() != ExecutionMode.ACTOR) {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(
+                properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "account-actor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        long period = Math.max(1L, properties.getIdleTimeout().toMillis() / 2);
+        idleEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-actor-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        idleEvictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (idleEvictor != null) {
+            idleEvictor.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return workers != null;
+    }
+
+    /**
+     * 계좌 queue 에 넣고 바로 반환한다.
+     * @return task 결과 (queue 가 가득 찬 경우 ACCOUNT_TRANSACTION_LOCK 으로 실패)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String accountNumber,
+                                            Supplier<? extends CompletionStage<T>> task) {
+        Command command = new Command((Supplier<? extends CompletionStage<?>>) task);
+        AccountActor[] toSchedule = new AccountActor[1];
+        boolean[] accepted = new boolean[1];
+
+        // 제거(evictIdle)와 같은 bin lock 에서 넣으므로 제거된 actor 에 요청이 남지 않는다.
+        actors.compute(accountNumber, (key, actor) -> {
+            AccountActor target = actor != null ? actor : new AccountActor(properties.getQueueCapacity());
+            accepted[0] = target.queue.offer(command);
+            if (accepted[0] && target.scheduled.compareAndSet(false, true)) {
+                toSchedule[0] = target;
+            }
+            return target;
+        });
+
+        if (!accepted[0]) {
+            log.error("Account actor queue is full. accountNumber : {}", accountNumber);
+            command.result.completeExceptionally(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        } else if (toSchedule[0] != null) {
+            workers.execute(() -> drain(toSchedule[0]));
+        }
+
+        return (CompletableFuture<T>) command.result;
+    }
+
+    /**
+     * 한 번에 batchSize 건까지 처리하고, 남은 요청이 있으면 다른 계좌 뒤로 다시 예약한다.
+     */
+    private void drain(AccountActor actor) {
+        List<Command> run = new ArrayList<>(Math.min(properties.getBatchSize(), actor.queue.size()));
+        actor.queue.drainTo(run, properties.getBatchSize());
+
+        int from = 0;
+        while (from < run.size()) {
+            from = executeRun(run, from);
+        }
+        actor.lastActiveNanos = System.nanoTime();
+
+        if (!actor.queue.isEmpty()) {
+            workers.execute(() -> drain(actor));
+            return;
+        }
+
+        actor.scheduled.set(false);
+        if (!actor.queue.isEmpty() && actor.scheduled.compareAndSet(false, true)) {
+            workers.execute(() -> drain(actor));
+        }
+    }
+
+    /**
+     * run[from..] 을 하나의 트랜잭션으로 실행한다.
+     * @return 다음에 실행할 요청 위치
+     */
+    private int executeRun(List<Command> run, int from) {
+        List<Outcome> outcomes = new ArrayList<>(run.size() - from);
+        boolean committed;
+
+        try {
+            committed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                IN_BATCH.set(Boolean.TRUE);
+                try {
+                    for (int i = from; i < run.size(); i++) {
+                        Outcome outcome = invoke(run.get(i));
+                        outcomes.add(outcome);
+                        if (outcome.isUnexpectedFailure()) {
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                    }
+                    return true;
+                } finally {
+                    IN_BATCH.remove();
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("Account actor transaction failed", e);
+            committed = false;
+
+            if (outcomes.isEmpty()) {
+                // 트랜잭션을 시작하지 못한 경우
+                for (int i = from; i < run.size(); i++) {
+                    run.get(i).result.completeExceptionally(e);
+                }
+                return run.size();
+            }
+        }
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            Command command = run.get(from + i);
+            Outcome outcome = outcomes.get(i);
+
+            if (committed || !outcome.isSuccess()) {
+                outcome.complete(command.result);
+            } else {
+                // rollback 된 성공 요청은 단독 트랜잭션으로 다시 실행
+                invoke(command).complete(command.result);
+            }
+        }
+
+        return from + outcomes.size();
+    }
+
+    private static Outcome invoke(Command command) {
+        try {
+            return Outcome.success(command.task.get().toCompletableFuture().join());
+        } catch (CompletionException e) {
+            return Outcome.failure(e.getCause() != null ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            return Outcome.failure(e);
+        }
+    }
+
+    /**
+     * @return 현재 스레드가 여러 요청을 묶은 트랜잭션을 실행 중이면 true
+     */
+    public static boolean isInBatch() {
+        return Boolean.TRUE.equals(IN_BATCH.get());
+    }
+
+    void evictIdle() {
+        long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        for (String accountNumber : actors.keySet()) {
+            actors.computeIfPresent(accountNumber,
+                    (key, actor) -> actor.isIdle(cutoff) ? null : actor);
+        }
+    }
+
+    int actorCount() {
+        return actors.size();
+    }
+
+    private static class AccountActor {
+        private final BlockingQueue<Command> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastActiveNanos = System.nanoTime();
+
+        private AccountActor(int queueCapacity) {
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        }
+
+        private boolean isIdle(long cutoffNanos) {
+            return !scheduled.get() && queue.isEmpty() && lastActiveNanos - cutoffNanos < 0;
+        }
+    }
+
+    private static class Command {
+        private final Supplier<? extends CompletionStage<?>> task;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Command(Supplier<? extends CompletionStage<?>> task) {
+            this.task = task;
+        }
+    }
+
+    private static class Outcome {
+        private final Object value;
+        private final Throwable error;
+
+        private Outcome(Object value, Throwable error) {
+            this.value = value;
+            this.error = error;
+        }
+
+        private static Outcome success(Object value) {
+            return new Outcome(value, null);
+        }
+
+        private static Outcome failure(Throwable error) {
+            return new Outcome(null, error);
+        }
+
+        private boolean isSuccess() {
+            return error == null;
+        }
+
+        private boolean isUnexpectedFailure() {
+            return error != null && !(error instanceof AccountException);
+        }
+
+        private void complete(CompletableFuture<Object> result) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service;
+
+import com.example.account.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 쓰기 작업 후 조회 캐시 삭제
+ * 캐시는 transaction-aware 이므로 트랜잭션 안에서 호출하면 커밋 이후에 삭제된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evictAccounts(Long userId) {
+        evict(CacheConfig.ACCOUNTS_BY_USER, userId);
+    }
+
+    public void evictTransaction(String transactionId) {
+        evict(CacheConfig.TRANSACTION, transactionId);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
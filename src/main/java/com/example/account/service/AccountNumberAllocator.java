@@ -0,0 +1,117 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 계좌 번호 발급기
+ * - AccountNumberBlockSource 에서 blockSize 만큼의 번호 구간을 미리 예약하고,
+ *   구간 안에서는 AtomicLong 커서로 lock 없이 번호를 나눠준다.
+ * - 계좌 테이블은 조회하지 않는다. (블록을 다 쓴 경우에만 source 를 호출)
+ * - 10자리 형식 유지 : 1000000000 ~ 9999999999
+ *   checkDigit 사용 시 9자리 번호 + Luhn 검증 숫자 1자리
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+
+    private static final long FIRST_NUMBER = 1_000_000_000L;
+    private static final long LAST_NUMBER = 9_999_999_999L;
+    private static final long FIRST_NUMBER_WITH_CHECK_DIGIT = 100_000_000L;
+    private static final long LAST_NUMBER_WITH_CHECK_DIGIT = 999_999_999L;
+
+    private final AccountNumberBlockSource blockSource;
+    private final int blockSize;
+    private final boolean checkDigit;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+
+    public AccountNumberAllocator(
+            AccountNumberBlockSource blockSource,
+            @Value("${account.number.block-size:1000}") int blockSize,
+            @Value("${account.number.check-digit:false}") boolean checkDigit) {
+        this.blockSource = blockSource;
+        this.blockSize = blockSize;
+        this.checkDigit = checkDigit;
+    }
+
+    public String allocate() {
+        while (true) {
+            Block block = currentBlock.get();
+            long offset = block.next();
+
+            if (offset >= 0) {
+                return format(offset);
+            }
+
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // 다른 스레드가 이미 새 블록을 채운 경우
+        if (currentBlock.get() != exhausted) {
+            return;
+        }
+
+        long start = blockSource.reserve(blockSize);
+        log.debug("Reserved account number block [{}, {})", start, start + blockSize);
+        currentBlock.set(new Block(start, start + blockSize));
+    }
+
+    private String format(long offset) {
+        if (!checkDigit) {
+            long number = FIRST_NUMBER + offset;
+            if (number > LAST_NUMBER) {
+                throw new AccountException(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED);
+            }
+            return Long.toString(number);
+        }
+
+        long body = FIRST_NUMBER_WITH_CHECK_DIGIT + offset;
+        if (body > LAST_NUMBER_WITH_CHECK_DIGIT) {
+            throw new AccountException(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED);
+        }
+        return Long.toString(body * 10 + luhnCheckDigit(body));
+    }
+
+    static int luhnCheckDigit(long body) {
+        int sum = 0;
+        boolean doubleDigit = true; // 검증 숫자가 붙을 자리를 기준으로 오른쪽부터 두 배
+        for (long n = body; n > 0; n /= 10) {
+            int digit = (int) (n % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static final class Block {
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong cursor;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+
+        private long next() {
+            long offset = cursor.getAndIncrement();
+            return offset < end ? offset : -1;
+        }
+    }
+}
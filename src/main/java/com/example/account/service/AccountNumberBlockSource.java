@@ -0,0 +1,9 @@
+package com.example.account.service;
+
+/**
+ * 계좌 번호 블록 예약
+ * 호출할 때마다 서로 겹치지 않는 [start, start + blockSize) 구간의 시작 offset 을 돌려준다.
+ */
+public interface AccountNumberBlockSource {
+    long reserve(int blockSize);
+}
@@ -1,5 +1,7 @@
 package com.example.account.service;
 
+import com.example.account.config.CacheConfig;
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
@@ -9,15 +11,15 @@ import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 
@@ -26,6 +28,10 @@ import static com.example.account.type.AccountStatus.IN_USE;
 public class AccountService {
     private final AccountRepository accountRepository; // final 의 경우 생성자에서만 초기화될 수 있다.
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountCacheEvictor accountCacheEvictor;
+    private final TransactionProperties transactionProperties;
+    private final BalanceLedger balanceLedger;
 
     /**
      * 계좌 생성
@@ -46,9 +52,9 @@ public class AccountService {
         // -- 너무 많은 예외처리는 좋지 않다. (별도로 처리하는 게 좋다.)
         validateCreateAccount(accountUser);
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> (Integer.parseInt(account.getAccountNumber()) + 1) + "")
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.allocate();
+
+        accountCacheEvictor.evictAccounts(userId);
 
         return AccountDto.fromEntity(
                 accountRepository.save(
@@ -85,24 +91,29 @@ public class AccountService {
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
 
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        validateUserExists(userId);
 
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        validateDeleteAccount(accountUser, account);
+        if (isLedger()) {
+            balanceLedger.open(account);
+        }
+
+        validateDeleteAccount(userId, account);
 
         account.setAccountStatus(AccountStatus.UNREGISTERED);
         account.setUnregisteredAt(LocalDateTime.now());
 
         accountRepository.save(account); // 없어도 작동한다.(테스트용 / 비추)
 
+        accountCacheEvictor.evictAccounts(userId);
+
         return AccountDto.fromEntity(account);
     }
 
-    private static void validateDeleteAccount(AccountUser accountUser, Account account) {
-        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+    private static void validateDeleteAccount(Long userId, Account account) {
+        if (!Objects.equals(userId, account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
 
@@ -120,25 +131,38 @@ public class AccountService {
      * 계좌 확인
      * 사용자가 없는 경우 실패 응답
      * @param userId
-     * @return List<userId, accountNumber>
+     * - 읽기 전용 트랜잭션 + projection 조회 (엔티티 스냅샷, flush 없음)
+     * - 잔액 변경, 계좌 생성/해지 시 캐시 삭제 (AccountCacheEvictor)
+     * - LEDGER 모드는 체크포인트 + 이후 거래 합계
+     * @return List<accountNumber, balance>
      */
-    @Transactional
-    public List<AccountDto> getAccountByUserId(Long userId) {
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_USER)
+    public List<AccountInfo> getAccountByUserId(Long userId) {
 
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        validateUserExists(userId);
 
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+        return isLedger()
+                ? accountRepository.findLedgerAccountInfosByUserId(userId)
+                : accountRepository.findAccountInfosByUserId(userId);
+    }
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+    private boolean isLedger() {
+        return transactionProperties.getExecutionMode() == ExecutionMode.LEDGER;
     }
 
+    /**
+     * 사용자 존재 여부는 캐시에서 확인하고, 연관 관계에는 조회 없이 참조(proxy)만 사용
+     */
     private AccountUser getAccountUser(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
-        return accountUser;
+        validateUserExists(userId);
+        return accountUserRepository.getById(userId);
+    }
+
+    private void validateUserExists(Long userId) {
+        if (!accountUserRepository.existsById(userId)) {
+            throw new AccountException(ErrorCode.USER_NOT_FOUND);
+        }
     }
 
 }
@@ -0,0 +1,187 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 계좌 lock 실행
+ * lock 을 기다리는 동안 요청 스레드(Tomcat)를 점유하지 않는다.
+ * - lock 대기 : LockService.lockAsync (Redisson pub/sub, 스레드 점유 없음)
+ * - 본문 실행 : lock 획득 후 worker 스레드에서 실행 (Redisson 응답 스레드에서 DB 작업을 하지 않도록)
+ * - lock 해제 : 본문이 반환한 future 가 완료된 뒤 해제하고, 해제가 끝난 뒤 결과를 완료한다.
+ * 한 계좌에 요청이 몰려도 worker 는 lock 을 잡은 요청만 사용하므로 다른 계좌의 요청이 막히지 않는다.
+ */
+@Slf4j
+@Component
+public class AsyncLockExecutor {
+
+    private final LockService lockService;
+    private final LockProperties.Async properties;
+    private final LockMetrics lockMetrics;
+
+    // 실제 스레드 id(양수)와 겹치지 않도록 음수 영역에서 발급
+    private final AtomicLong ownerIds = new AtomicLong(Long.MIN_VALUE);
+
+    private ThreadPoolExecutor workers;
+
+    public AsyncLockExecutor(LockService lockService, LockProperties lockProperties,
+                             LockMetrics lockMetrics) {
+        this.lockService = lockService;
+        this.properties = lockProperties.getAsync();
+        this.lockMetrics = lockMetrics;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!lockService.supportsAsync()) {
+            log.warn("Async lock is not supported by {}. Falling back to blocking lock.",
+                    lockService.getClass().getSimpleName());
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(
+                properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "account-lock-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (workers != null) {
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return workers != null;
+    }
+
+    public <T> CompletableFuture<T> execute(String accountNumber, LockOptions options,
+                                            Supplier<? extends CompletionStage<T>> body) {
+        long ownerId = ownerIds.incrementAndGet();
+        return run(LockMetrics.SINGLE, options,
+                lockService.lockAsync(accountNumber, ownerId, options),
+                AccountLockContext::setFencingToken,
+                () -> lockService.unlockAsync(accountNumber, ownerId, options),
+                body);
+    }
+
+    public <T> CompletableFuture<T> executeAll(Collection<String> accountNumbers, LockOptions options,
+                                               Supplier<? extends CompletionStage<T>> body) {
+        long ownerId = ownerIds.incrementAndGet();
+        return run(LockMetrics.MULTI, options,
+                lockService.lockAllAsync(accountNumbers, ownerId, options),
+                AccountLockContext::setFencingTokens,
+                () -> lockService.unlockAllAsync(accountNumbers, ownerId, options),
+                body);
+    }
+
+    private <L, T> CompletableFuture<T> run(String type, LockOptions options,
+                                            CompletableFuture<L> lock,
+                                            Consumer<L> setContext,
+                                            Supplier<CompletableFuture<Void>> unlock,
+                                            Supplier<? extends CompletionStage<T>> body) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long waitStart = System.nanoTime();
+
+        lock.whenComplete((fencingToken, lockError) -> {
+            if (lockError != null) {
+                // lock 을 잡지 못했으므로 해제하지 않는다.
+                lockMetrics.failed(type, waitStart, unwrap(lockError));
+                result.completeExceptionally(unwrap(lockError));
+                return;
+            }
+            lockMetrics.acquired(type, waitStart);
+            long acquired = System.nanoTime();
+
+            try {
+                workers.execute(() -> {
+                    CompletionStage<T> stage;
+                    setContext.accept(fencingToken);
+                    try {
+                        stage = body.get();
+                    } catch (RuntimeException e) {
+                        stage = CompletableFuture.failedFuture(e);
+                    } finally {
+                        AccountLockContext.clear();
+                    }
+
+                    stage.whenComplete((value, error) -> release(type, acquired, options, unlock)
+                            .whenComplete((v, e) -> {
+                                if (error != null) {
+                                    result.completeExceptionally(unwrap(error));
+                                } else {
+                                    result.complete(value);
+                                }
+                            }));
+                });
+            } catch (RejectedExecutionException e) {
+                log.error("Async lock worker queue is full.");
+                release(type, acquired, options, unlock).whenComplete((v, unlockError) ->
+                        result.completeExceptionally(
+                                new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * 해제 후 보유 시간을 기록한다.
+     * 해제 실패는 결과에 영향을 주지 않는다. (lease 시간이 지나면 만료)
+     */
+    private CompletableFuture<Void> release(String type, long acquiredNanos, LockOptions options,
+                                            Supplier<CompletableFuture<Void>> unlock) {
+        CompletableFuture<Void> released;
+        try {
+            released = unlock.get();
+        } catch (RuntimeException e) {
+            released = CompletableFuture.failedFuture(e);
+        }
+        return released.handle((v, e) -> {
+            lockMetrics.released(type, acquiredNanos,
+                    lockService.appliesLease() ? options.getLeaseMillis() : LockMetrics.NO_LEASE, e);
+            if (e != null) {
+                log.error("Async unlock failed", e);
+            }
+            return null;
+        });
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
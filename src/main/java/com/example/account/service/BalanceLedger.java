@@ -0,0 +1,185 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceCheckpoint;
+import com.example.account.dto.LedgerDelta;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.BalanceCheckpointRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ExecutionMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LEDGER 모드 잔액
+ * 성공 거래가 원장이다. 잔액 = 계좌 체크포인트 잔액 + 체크포인트 순번 이후 거래 합계
+ * - 잔액을 바꾸는 거래는 계좌 lock 을 잡은 상태에서 잔액과 마지막 순번을 읽고, 다음 순번으로 거래만 insert 한다.
+ *   (계좌 row update 없음, 같은 순번을 쓰는 동시 거래는 unique 제약으로 실패)
+ * - 백그라운드 스레드가 checkpointInterval 마다 그 사이 거래가 있었던 계좌의 체크포인트를 옮겨 합계 범위를 줄인다.
+ *   체크포인트가 늦거나 빠져도 잔액은 같다. (합계 범위만 길어짐)
+ * - 체크포인트가 없는 계좌는 계좌 잔액(Account.balance)과 순번 0 에서 시작하므로 다른 모드에서 LEDGER 로 바로 바꿀 수 있다.
+ *   반대로 바꾸려면 계좌 잔액을 ledger 잔액으로 옮겨야 한다.
+ */
+@Slf4j
+@Component
+public class BalanceLedger {
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionProperties transactionProperties;
+
+    private final Counter checkpoints;
+    private final Counter checkpointErrors;
+
+    // 마지막 체크포인트 이후 이 인스턴스에서 거래를 커밋한 계좌 id
+    private final Set<Long> pendingAccountIds = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService checkpointer;
+
+    public BalanceLedger(BalanceCheckpointRepository balanceCheckpointRepository,
+                         TransactionRepository transactionRepository,
+                         AccountRepository accountRepository,
+                         PlatformTransactionManager transactionManager,
+                         TransactionProperties transactionProperties,
+                         MeterRegistry meterRegistry) {
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionProperties = transactionProperties;
+
+        this.checkpoints = meterRegistry.counter("account.ledger.checkpoints", "result", "written");
+        this.checkpointErrors = meterRegistry.counter("account.ledger.checkpoints", "result", "error");
+        meterRegistry.gaugeCollectionSize("account.ledger.checkpoint.pending",
+                Tags.empty(), pendingAccountIds);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (transactionProperties.getExecutionMode() != ExecutionMode.LEDGER) {
+            return;
+        }
+
+        long interval = transactionProperties.getLedger().getCheckpointInterval().toMillis();
+        checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointer.scheduleWithFixedDelay(this::checkpointPending, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+        }
+    }
+
+    /**
+     * 계좌에 ledger 잔액과 마지막 거래 순번을 연다. (Account.getBalance, nextLedgerSequence)
+     * 잔액을 바꾸는 경우 계좌 lock 을 잡은 상태에서 호출하고, 커밋되면 다음 체크포인트 대상이 된다.
+     */
+    public void open(Account account) {
+        if (account.isLedgerOpened()) {
+            return;
+        }
+
+        Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository.findByAccountId(account.getId());
+        long balance = checkpoint.map(BalanceCheckpoint::getBalance).orElse(account.getBalance());
+        long ledgerSequence = checkpoint.map(BalanceCheckpoint::getLedgerSequence).orElse(0L);
+
+        LedgerDelta delta = transactionRepository.findLedgerDelta(account.getId(), ledgerSequence);
+        account.openLedger(balance + delta.getAmount(),
+                delta.getLastSequence() != null ? delta.getLastSequence() : ledgerSequence);
+
+        markPendingAfterCommit(account.getId());
+    }
+
+    /**
+     * 그 사이 거래가 있었던 계좌의 체크포인트 기록 (계좌마다 트랜잭션 하나)
+     * 실패한 계좌는 다음 거래 이후에 다시 기록한다.
+     */
+    void checkpointPending() {
+        List<Long> accountIds = new ArrayList<>(pendingAccountIds);
+        pendingAccountIds.removeAll(accountIds);
+
+        for (Long accountId : accountIds) {
+            try {
+                if (checkpoint(accountId)) {
+                    checkpoints.increment();
+                }
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 같은 계좌의 첫 체크포인트를 먼저 기록한 경우
+                log.debug("Balance checkpoint already created. accountId : {}", accountId);
+            } catch (RuntimeException e) {
+                checkpointErrors.increment();
+                log.error("Failed to write balance checkpoint. accountId : {}", accountId, e);
+            }
+        }
+    }
+
+    /**
+     * @return 체크포인트 이후 거래가 있어 기록한 경우 true
+     */
+    boolean checkpoint(Long accountId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository.findByAccountId(accountId);
+            long ledgerSequence = checkpoint.map(BalanceCheckpoint::getLedgerSequence).orElse(0L);
+
+            LedgerDelta delta = transactionRepository.findLedgerDelta(accountId, ledgerSequence);
+            if (delta.getLastSequence() == null) {
+                return false;
+            }
+
+            if (checkpoint.isPresent()) {
+                balanceCheckpointRepository.advance(accountId,
+                        checkpoint.get().getBalance() + delta.getAmount(), delta.getLastSequence());
+                return true;
+            }
+
+            Account account = accountRepository.getById(accountId);
+            balanceCheckpointRepository.save(BalanceCheckpoint.builder()
+                    .account(account)
+                    .balance(account.getBalance() + delta.getAmount())
+                    .ledgerSequence(delta.getLastSequence())
+                    .build());
+            return true;
+        }));
+    }
+
+    private void markPendingAfterCommit(Long accountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingAccountIds.add(accountId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingAccountIds.add(accountId);
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일괄 잔액 사용/취소
+ * 요청 항목을 계좌별로 묶어 계좌 lock 은 계좌당 한 번, DB 트랜잭션도 계좌당 하나로 처리한다.
+ * - 같은 계좌의 항목은 요청 순서대로 처리한다. (계좌가 다른 항목 간의 순서는 보장하지 않음)
+ * - 계좌 단위로 실패한 경우(lock 획득 실패, 계좌 없음 등) 해당 계좌의 항목만 모두 실패 처리한다.
+ * - 예상하지 못한 오류(DB 제약 조건, 낙관적 lock 충돌 등)도 해당 계좌만 INTERNAL_SERVER_ERROR 로 실패 처리한다.
+ *   (먼저 커밋된 다른 계좌의 결과를 응답에서 잃지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final LockProperties lockProperties;
+    private final TransactionProperties transactionProperties;
+
+    /**
+     * @return 항목별 결과 (요청 순서)
+     */
+    public List<BatchTransaction.Result> process(List<BatchTransaction.Item> items) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            indexesByAccount.computeIfAbsent(items.get(i).getAccountNumber(), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        BatchTransaction.Result[] results = new BatchTransaction.Result[items.size()];
+
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<BatchTransaction.Item> group = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                group.add(items.get(index));
+            }
+
+            List<BatchTransaction.Result> groupResults = processAccount(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);
+            }
+        });
+
+        return Arrays.asList(results);
+    }
+
+    private List<BatchTransaction.Result> processAccount(String accountNumber,
+                                                         List<BatchTransaction.Item> group) {
+        try {
+            if (!transactionProperties.isLockRequired()) {
+                return transactionService.applyBatch(accountNumber, group);
+            }
+
+            LockOptions options = LockOptions.defaults(lockProperties);
+            long fencingToken = lockService.lock(accountNumber, options);
+            AccountLockContext.setFencingToken(fencingToken);
+
+            try {
+                return transactionService.applyBatch(accountNumber, group);
+            } finally {
+                AccountLockContext.clear();
+                unlock(accountNumber, options);
+            }
+        } catch (AccountException e) {
+            log.error("Failed to process batch. accountNumber : {}, errorCode : {}",
+                    accountNumber, e.getErrorCode());
+            return failAll(group, e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("Failed to process batch. accountNumber : {}", accountNumber, e);
+            return failAll(group, ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private List<BatchTransaction.Result> failAll(List<BatchTransaction.Item> group, ErrorCode errorCode) {
+        List<BatchTransaction.Result> results = new ArrayList<>(group.size());
+        for (BatchTransaction.Item item : group) {
+            saveFailedTransaction(item);
+            results.add(BatchTransaction.Result.failed(item, errorCode));
+        }
+        return results;
+    }
+
+    /**
+     * 해제 실패는 처리 결과를 가리지 않도록 기록만 한다. (남은 lock 은 lease 시간이 지나면 만료)
+     */
+    private void unlock(String accountNumber, LockOptions options) {
+        try {
+            lockService.unlock(accountNumber, options);
+        } catch (RuntimeException e) {
+            log.error("Unlock failed. accountNumber : {}", accountNumber, e);
+        }
+    }
+
+    private void saveFailedTransaction(BatchTransaction.Item item) {
+        if (item.getUse() != null) {
+            transactionService.saveFailedUseTransaction(item.getAccountNumber(), item.getAmount());
+        } else {
+            transactionService.saveFailedCancelTransaction(item.getAccountNumber(), item.getAmount());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.type.ExecutionMode;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 거래 기록
+ * 요청 스레드는 bounded queue 에 넣기만 하고 (lock 을 바로 해제),
+ * 백그라운드 스레드가 모아서 JDBC batch insert 로 저장한다.
+ * - queue 가 가득 찬 경우 offerTimeout 동안 대기 후 기록을 버린다. (유실 건수는 metric 으로 확인)
+ * - 종료 시 queue 에 남은 기록을 모두 저장하고, 종료 이후에 들어온 기록은 요청 스레드에서 바로 저장한다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionWriter {
+
+    /**
+     * 계좌 id, 잔액 스냅샷은 insert 시점에 계좌에서 읽는다. (없는 계좌는 저장되지 않음)
+     */
+    static final String INSERT_SQL =
+            "insert into transaction (id, created_at, updated_at, transaction_type, transaction_result, " +
+                    "account_id, amount, balance_snapshot, transaction_id, cancelled, transacted_at) " +
+                    "select next value for hibernate_sequence, ?, ?, ?, ?, a.id, ?, a.balance, ?, false, ? " +
+                    "from account a where a.account_number = ?";
+
+    /**
+     * LEDGER 모드 : 잔액 스냅샷은 체크포인트 잔액(없으면 계좌 잔액) + 체크포인트 이후 거래 합계
+     */
+    static final String LEDGER_INSERT_SQL =
+            "insert into transaction (id, created_at, updated_at, transaction_type, transaction_result, " +
+                    "account_id, amount, balance_snapshot, transaction_id, cancelled, transacted_at) " +
+                    "select next value for hibernate_sequence, ?, ?, ?, ?, a.id, ?, " +
+                    "coalesce(c.balance, a.balance) + coalesce((select sum(case " +
+                    "when t.transaction_type in (" + TransactionType.LEDGER_DEBITS + ") " +
+                    "then -t.amount else t.amount end) " +
+                    "from transaction t where t.account_id = a.id " +
+                    "and t.ledger_sequence > coalesce(c.ledger_sequence, 0)), 0), ?, false, ? " +
+                    "from account a left join balance_checkpoint c on c.account_id = a.id " +
+                    "where a.account_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionProperties.FailedRecord properties;
+    private final BlockingQueue<FailedTransaction> queue;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter writeErrors;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writerThread;
+
+    public FailedTransactionWriter(JdbcTemplate jdbcTemplate,
+                                   TransactionIdGenerator transactionIdGenerator,
+                                   TransactionProperties transactionProperties,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = transactionProperties.getExecutionMode() == ExecutionMode.LEDGER
+                ? LEDGER_INSERT_SQL
+                : INSERT_SQL;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.properties = transactionProperties.getFailedRecord();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.written = meterRegistry.counter("account.transaction.failed.records", "result", "written");
+        this.dropped = meterRegistry.counter("account.transaction.failed.records", "result", "dropped");
+        this.writeErrors = meterRegistry.counter("account.transaction.failed.records", "result", "error");
+        meterRegistry.gaugeCollectionSize("account.transaction.failed.queue.size",
+                Tags.empty(), queue);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "failed-transaction-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 종료 시 남은 기록 flush
+     * 백그라운드 스레드가 queue 를 비울 때까지 기다리고, 시간 내에 끝나지 않으면 남은 건수를 남긴다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(properties.getShutdownTimeout().toMillis());
+            if (!writerThread.isAlive()) {
+                flushQueue();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Failed transaction records not flushed on shutdown. count : {}", queue.size());
+        }
+    }
+
+    /**
+     * @return queue 에 넣은 경우 true, 가득 차서 버린 경우 false
+     */
+    public boolean enqueue(TransactionType transactionType, String accountNumber, Long amount) {
+        FailedTransaction record = new FailedTransaction(
+                transactionType, accountNumber, amount,
+                transactionIdGenerator.generate(),
+                LocalDateTime.now());
+
+        if (stopped) {
+            write(List.of(record));
+            return true;
+        }
+
+        try {
+            if (queue.offer(record, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                if (stopped) {
+                    // 종료와 겹친 경우 백그라운드 스레드가 이미 끝났을 수 있다.
+                    flushQueue();
+                }
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        dropped.increment();
+        log.warn("Failed transaction record dropped. type : {}, accountNumber : {}, amount : {}",
+                transactionType, accountNumber, amount);
+        return false;
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransaction first = queue.poll(
+                        properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<FailedTransaction> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushQueue() {
+        List<FailedTransaction> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            write(batch);
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+    }
+
+    void write(List<FailedTransaction> batch) {
+        try {
+            jdbcTemplate.batchUpdate(insertSql, batch, batch.size(), (ps, record) -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                ps.setTimestamp(1, now);
+                ps.setTimestamp(2, now);
+                ps.setString(3, record.getTransactionType().name());
+                ps.setString(4, TransactionResultType.F.name());
+                ps.setLong(5, record.getAmount());
+                ps.setString(6, record.getTransactionId());
+                ps.setTimestamp(7, Timestamp.valueOf(record.getTransactedAt()));
+                ps.setString(8, record.getAccountNumber());
+            });
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            writeErrors.increment(batch.size());
+            log.error("Failed to write failed transaction records. count : {}", batch.size(), e);
+        }
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class FailedTransaction {
+        private final TransactionType transactionType;
+        private final String accountNumber;
+        private final Long amount;
+        private final String transactionId;
+        private final LocalDateTime transactedAt;
+    }
+}
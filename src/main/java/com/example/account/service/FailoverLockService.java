@@ -0,0 +1,254 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockFailurePolicy;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Redis lock 장애 처리
+ * Redis 오류(LOCK_SERVICE_UNAVAILABLE)가 나거나 circuit 이 열린 경우 failurePolicy 로 처리한다.
+ * - FAIL_CLOSED : 요청 실패
+ * - LOCAL : 로컬 striped lock 으로 대체 (비동기 lock 은 스레드 소유 lock 을 쓸 수 없으므로 실패)
+ * - OPTIMISTIC : lock 없이 진행 (Account.version 으로 동시 변경 감지)
+ * 대체한 lock 은 fencing token 없이(NO_FENCING_TOKEN) 반환하고, 해제 시 Redis 를 호출하지 않는다.
+ */
+public class FailoverLockService implements LockService {
+
+    private final LockService primary;
+    private final LocalLockService localLockService;
+    private final LockCircuitBreaker circuitBreaker;
+    private final LockFailurePolicy failurePolicy;
+    private final LockMetrics lockMetrics;
+
+    // 대체 lock 을 잡은 계좌 (동기 lock 은 같은 스레드에서 해제한다.)
+    private final ThreadLocal<Set<String>> degradedLocks = ThreadLocal.withInitial(HashSet::new);
+    // 대체 lock 을 잡은 비동기 소유자
+    private final Set<Long> degradedOwners = ConcurrentHashMap.newKeySet();
+
+    public FailoverLockService(LockService primary,
+                               LocalLockService localLockService,
+                               LockCircuitBreaker circuitBreaker,
+                               LockFailurePolicy failurePolicy,
+                               LockMetrics lockMetrics) {
+        this.primary = primary;
+        this.localLockService = localLockService;
+        this.circuitBreaker = circuitBreaker;
+        this.failurePolicy = failurePolicy;
+        this.lockMetrics = lockMetrics;
+        lockMetrics.circuitBreaker(circuitBreaker);
+    }
+
+    @Override
+    public long lock(String accountNumber, LockOptions options) {
+        return acquire(() -> primary.lock(accountNumber, options), () -> {
+            lockMetrics.degraded(LockMetrics.SINGLE, failurePolicy);
+            if (failurePolicy == LockFailurePolicy.LOCAL) {
+                localLockService.lock(accountNumber, options);
+            }
+            degradedLocks.get().add(accountNumber);
+            return NO_FENCING_TOKEN;
+        });
+    }
+
+    @Override
+    public void unlock(String accountNumber, LockOptions options) {
+        if (degradedLocks.get().remove(accountNumber)) {
+            if (failurePolicy == LockFailurePolicy.LOCAL) {
+                localLockService.unlock(accountNumber, options);
+            }
+            return;
+        }
+        release(() -> primary.unlock(accountNumber, options));
+    }
+
+    @Override
+    public Map<String, Long> lockAll(Collection<String> accountNumbers, LockOptions options) {
+        return acquire(() -> primary.lockAll(accountNumbers, options), () -> {
+            lockMetrics.degraded(LockMetrics.MULTI, failurePolicy);
+            if (failurePolicy == LockFailurePolicy.LOCAL) {
+                localLockService.lockAll(accountNumbers, options);
+            }
+            degradedLocks.get().addAll(accountNumbers);
+            return noFencingTokens(accountNumbers);
+        });
+    }
+
+    @Override
+    public void unlockAll(Collection<String> accountNumbers, LockOptions options) {
+        if (degradedLocks.get().removeAll(accountNumbers)) {
+            if (failurePolicy == LockFailurePolicy.LOCAL) {
+                localLockService.unlockAll(accountNumbers, options);
+            }
+            return;
+        }
+        release(() -> primary.unlockAll(accountNumbers, options));
+    }
+
+    @Override
+    public boolean appliesLease() {
+        return primary.appliesLease();
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return primary.supportsAsync();
+    }
+
+    @Override
+    public CompletableFuture<Long> lockAsync(String accountNumber, long ownerId, LockOptions options) {
+        return acquireAsync(() -> primary.lockAsync(accountNumber, ownerId, options), ownerId,
+                LockMetrics.SINGLE, () -> NO_FENCING_TOKEN);
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId, LockOptions options) {
+        return releaseAsync(() -> primary.unlockAsync(accountNumber, ownerId, options), ownerId);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> lockAllAsync(Collection<String> accountNumbers,
+                                                             long ownerId, LockOptions options) {
+        return acquireAsync(() -> primary.lockAllAsync(accountNumbers, ownerId, options), ownerId,
+                LockMetrics.MULTI, () -> noFencingTokens(accountNumbers));
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAllAsync(Collection<String> accountNumbers,
+                                                  long ownerId, LockOptions options) {
+        return releaseAsync(() -> primary.unlockAllAsync(accountNumbers, ownerId, options), ownerId);
+    }
+
+    private <T> T acquire(Supplier<T> primaryLock, Supplier<T> degradedLock) {
+        if (!circuitBreaker.allowRequest()) {
+            return degrade(degradedLock);
+        }
+
+        try {
+            T fencingTokens = primaryLock.get();
+            circuitBreaker.onSuccess();
+            return fencingTokens;
+        } catch (AccountException e) {
+            if (!isUnavailable(e)) {
+                // 대기 시간 초과 등 Redis 는 정상 응답
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            return degrade(degradedLock);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+
+    private <T> T degrade(Supplier<T> degradedLock) {
+        if (failurePolicy == LockFailurePolicy.FAIL_CLOSED) {
+            throw new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+        }
+        return degradedLock.get();
+    }
+
+    /**
+     * lease 만료로 이미 풀린 lock(IllegalMonitorStateException)은 Redis 장애가 아니다.
+     */
+    private void release(Runnable primaryUnlock) {
+        try {
+            primaryUnlock.run();
+        } catch (RuntimeException e) {
+            if (!(e instanceof IllegalMonitorStateException)) {
+                circuitBreaker.onFailure();
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> acquireAsync(Supplier<CompletableFuture<T>> primaryLock, long ownerId,
+                                                  String type, Supplier<T> noFencingTokens) {
+        if (!circuitBreaker.allowRequest()) {
+            return degradeAsync(ownerId, type, noFencingTokens);
+        }
+
+        CompletableFuture<T> lock;
+        try {
+            lock = primaryLock.get();
+        } catch (RuntimeException e) {
+            lock = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        lock.whenComplete((fencingTokens, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                result.complete(fencingTokens);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (cause instanceof AccountException && !isUnavailable((AccountException) cause)) {
+                circuitBreaker.onSuccess();
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            circuitBreaker.onFailure();
+            degradeAsync(ownerId, type, noFencingTokens).whenComplete((value, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(unwrap(e));
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> degradeAsync(long ownerId, String type, Supplier<T> noFencingTokens) {
+        if (failurePolicy != LockFailurePolicy.OPTIMISTIC) {
+            return CompletableFuture.failedFuture(
+                    new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+        }
+        lockMetrics.degraded(type, failurePolicy);
+        degradedOwners.add(ownerId);
+        return CompletableFuture.completedFuture(noFencingTokens.get());
+    }
+
+    private CompletableFuture<Void> releaseAsync(Supplier<CompletableFuture<Void>> primaryUnlock,
+                                                 long ownerId) {
+        if (degradedOwners.remove(ownerId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return primaryUnlock.get().whenComplete((v, error) -> {
+            if (error != null && !(unwrap(error) instanceof IllegalMonitorStateException)) {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    private static Map<String, Long> noFencingTokens(Collection<String> accountNumbers) {
+        Map<String, Long> fencingTokens = new LinkedHashMap<>();
+        for (String accountNumber : LockService.lockOrder(accountNumbers)) {
+            fencingTokens.put(accountNumber, NO_FENCING_TOKEN);
+        }
+        return fencingTokens;
+    }
+
+    private static boolean isUnavailable(AccountException e) {
+        return e.getErrorCode() == ErrorCode.LOCK_SERVICE_UNAVAILABLE;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
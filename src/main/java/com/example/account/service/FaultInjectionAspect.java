@@ -0,0 +1,105 @@
+package com.example.account.service;
+
+import com.example.account.config.FaultInjectionConfig;
+import com.example.account.config.FaultInjectionProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 테스트용 지연/장애 주입
+ * - fault-injection 프로파일이 활성화된 경우에만 빈으로 등록된다. (비활성 시 hot path 에 영향 없음)
+ * - LockAopAspect 보다 안쪽에서 실행되므로 계좌 lock 을 잡은 상태로 지연된다. (lock 경합 재현용)
+ */
+@Slf4j
+@Aspect
+@Component
+@Profile(FaultInjectionConfig.PROFILE)
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class FaultInjectionAspect {
+
+    private final FaultInjectionProperties faultInjectionProperties;
+
+    private final Map<Method, Optional<FaultInjectionProperties.Endpoint>> endpointCache =
+            new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object aroundEndpoint(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Optional<FaultInjectionProperties.Endpoint> endpoint =
+                endpointCache.computeIfAbsent(method, this::findEndpoint);
+
+        if (endpoint.isPresent()) {
+            inject(endpoint.get());
+        }
+
+        return pjp.proceed();
+    }
+
+    private Optional<FaultInjectionProperties.Endpoint> findEndpoint(Method method) {
+        RequestMapping mapping =
+                AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping == null) {
+            return Optional.empty();
+        }
+
+        for (String path : mapping.path()) {
+            FaultInjectionProperties.Endpoint endpoint =
+                    faultInjectionProperties.getEndpoints().get(path);
+            if (endpoint != null) {
+                return Optional.of(endpoint);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void inject(FaultInjectionProperties.Endpoint endpoint)
+            throws InterruptedException {
+        long delayMillis = sampleDelayMillis(endpoint);
+        if (delayMillis > 0) {
+            log.debug("Injecting {}ms delay", delayMillis);
+            Thread.sleep(delayMillis);
+        }
+
+        if (endpoint.getFailureRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < endpoint.getFailureRate()) {
+            throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    static long sampleDelayMillis(FaultInjectionProperties.Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (endpoint.getDistribution()) {
+            case UNIFORM:
+                if (endpoint.getMaxMs() <= endpoint.getMinMs()) {
+                    return endpoint.getMinMs();
+                }
+                return random.nextLong(endpoint.getMinMs(), endpoint.getMaxMs() + 1);
+            case EXPONENTIAL:
+                long delay = (long) (-endpoint.getMeanMs() * Math.log(1.0 - random.nextDouble()));
+                return endpoint.getMaxMs() > 0 ? Math.min(delay, endpoint.getMaxMs()) : delay;
+            case FIXED:
+            default:
+                return endpoint.getFixedMs();
+        }
+    }
+}
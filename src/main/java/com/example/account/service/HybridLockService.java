@@ -0,0 +1,72 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 로컬 stripe 를 먼저 잡은 뒤 Redisson lock 을 잡는다.
+ * JVM 당 한 스레드만 Redis key 에 대해 경합하게 된다.
+ * fencing token 은 인스턴스 간에 비교 가능해야 하므로 Redisson 쪽 토큰을 사용한다.
+ */
+@RequiredArgsConstructor
+public class HybridLockService implements LockService {
+
+    private final LocalLockService localLockService;
+    private final RedisLockService redisLockService;
+
+    @Override
+    public long lock(String accountNumber, LockOptions options) {
+        long deadline = System.currentTimeMillis() + options.getWaitMillis();
+        localLockService.lock(accountNumber, options);
+
+        try {
+            long remaining = Math.max(0L, deadline - System.currentTimeMillis());
+            return redisLockService.lock(accountNumber, LockOptions.builder()
+                    .waitMillis(remaining)
+                    .leaseMillis(options.getLeaseMillis())
+                    .fair(options.isFair())
+                    .build());
+        } catch (RuntimeException e) {
+            localLockService.unlock(accountNumber, options);
+            throw e;
+        }
+    }
+
+    @Override
+    public void unlock(String accountNumber, LockOptions options) {
+        try {
+            redisLockService.unlock(accountNumber, options);
+        } finally {
+            localLockService.unlock(accountNumber, options);
+        }
+    }
+
+    @Override
+    public Map<String, Long> lockAll(Collection<String> accountNumbers, LockOptions options) {
+        long deadline = System.currentTimeMillis() + options.getWaitMillis();
+        localLockService.lockAll(accountNumbers, options);
+
+        try {
+            long remaining = Math.max(0L, deadline - System.currentTimeMillis());
+            return redisLockService.lockAll(accountNumbers, LockOptions.builder()
+                    .waitMillis(remaining)
+                    .leaseMillis(options.getLeaseMillis())
+                    .fair(options.isFair())
+                    .build());
+        } catch (RuntimeException e) {
+            localLockService.unlockAll(accountNumbers, options);
+            throw e;
+        }
+    }
+
+    @Override
+    public void unlockAll(Collection<String> accountNumbers, LockOptions options) {
+        try {
+            redisLockService.unlockAll(accountNumbers, options);
+        } finally {
+            localLockService.unlockAll(accountNumbers, options);
+        }
+    }
+}
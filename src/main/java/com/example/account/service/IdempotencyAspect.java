@@ -0,0 +1,212 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.Idempotent;
+import com.example.account.config.IdempotencyProperties;
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Idempotency-Key 헤더 처리 (@Idempotent)
+ * key 는 요청 경로, 계좌 번호, 헤더 값으로 구분한다.
+ * 결과와 함께 요청 본문 fingerprint 를 저장하고, 같은 key 로 내용이 다른 요청은 INVALID_REQUEST 로 거절한다.
+ * 1. 같은 인스턴스에서 처리 중인 같은 요청이 있으면 그 결과를 같이 기다린다.
+ * 2. 저장소에 결과가 있으면 그대로 응답한다. (다른 인스턴스에서 처리 중이면 IDEMPOTENCY_KEY_IN_PROGRESS)
+ * 3. 없으면 처리 중으로 표시하고 실행한 뒤 결과를 저장한다.
+ *    처리 중 표시는 lock 대기 + 임대 시간보다 먼저 만료되지 않는다. (임대 시간이 지난 요청은 fencing 으로 막힌다.)
+ * lock 대기 실패 등 다시 시도하면 성공할 수 있는 오류는 저장하지 않는다.
+ * LockAopAspect(@Order(0)) 보다 먼저 실행되어 재요청은 계좌 lock 을 잡지 않는다.
+ */
+@Aspect
+@Component
+@Order(-1)
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<ErrorCode> RETRYABLE_ERRORS = EnumSet.of(
+            ErrorCode.INTERNAL_SERVER_ERROR,
+            ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+            ErrorCode.ACCOUNT_LOCK_EXPIRED,
+            ErrorCode.LOCK_SERVICE_UNAVAILABLE,
+            ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+    private final LockProperties lockProperties;
+    private final MeterRegistry meterRegistry;
+
+    // 이 인스턴스에서 처리 중인 요청 (key#fingerprint)
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> executions =
+            new ConcurrentHashMap<>();
+
+    @Around("@annotation(idempotent) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            Idempotent idempotent,
+            AccountLockIdInterface request
+    ) throws Throwable {
+        HttpServletRequest httpRequest = currentRequest();
+        String idempotencyKey = httpRequest == null ? null : httpRequest.getHeader(HEADER);
+        if (!idempotencyProperties.isEnabled() || !StringUtils.hasText(idempotencyKey)) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        String key = httpRequest.getRequestURI() + ":" + request.getAccountNumber() + ":" + idempotencyKey;
+        long fingerprint = IdempotentResponseCodec.fingerprint(request);
+        String executionKey = key + "#" + fingerprint;
+
+        CompletableFuture<Object> execution = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = executions.putIfAbsent(executionKey, execution);
+        if (inFlight != null) {
+            count("joined");
+            return inFlight.thenApply(Function.identity());
+        }
+
+        byte[] stored;
+        try {
+            stored = idempotencyStore.putIfAbsent(key, IdempotentResponseCodec.pending(fingerprint),
+                    pendingTtl());
+        } catch (RuntimeException e) {
+            finish(executionKey, execution, null, e);
+            throw e;
+        }
+
+        if (stored != null) {
+            replay(executionKey, execution, stored, fingerprint);
+            return execution;
+        }
+
+        count("executed");
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            complete(key, executionKey, fingerprint, execution, null, e);
+            throw e;
+        }
+
+        if (!(result instanceof CompletionStage)) {
+            complete(key, executionKey, fingerprint, execution, result, null);
+            return result;
+        }
+        ((CompletionStage<?>) result).whenComplete(
+                (value, error) -> complete(key, executionKey, fingerprint, execution, value, unwrap(error)));
+        return execution;
+    }
+
+    private void replay(String executionKey, CompletableFuture<Object> execution,
+                        byte[] stored, long fingerprint) {
+        try {
+            if (IdempotentResponseCodec.fingerprintOf(stored) != fingerprint) {
+                count("mismatch");
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+
+            if (IdempotentResponseCodec.isPending(stored)) {
+                count("in_progress");
+                throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+
+            count("replayed");
+            finish(executionKey, execution, IdempotentResponseCodec.decode(stored), null);
+        } catch (RuntimeException e) {
+            finish(executionKey, execution, null, e);
+        }
+    }
+
+    /**
+     * 결과를 저장하고 (저장할 수 없는 결과면 처리 중 표시를 지운다.) 기다리던 요청에 전달한다.
+     */
+    private void complete(String key, String executionKey, long fingerprint,
+                          CompletableFuture<Object> execution, Object value, Throwable error) {
+        try {
+            byte[] result = error == null
+                    ? IdempotentResponseCodec.encode(fingerprint, value)
+                    : encodeError(fingerprint, error);
+            if (result != null) {
+                idempotencyStore.put(key, result, idempotencyProperties.getTtl());
+            } else {
+                idempotencyStore.remove(key);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to save idempotent result. key={}", key, e);
+        } finally {
+            finish(executionKey, execution, value, error);
+        }
+    }
+
+    /**
+     * 처리 중 표시가 실행 중에 만료되면 같은 key 재요청이 한 번 더 실행된다.
+     */
+    private Duration pendingTtl() {
+        Duration lockBound = lockProperties.getWaitTime().plus(lockProperties.getLeaseTime());
+        Duration pendingTtl = idempotencyProperties.getPendingTtl();
+        return pendingTtl.compareTo(lockBound) >= 0 ? pendingTtl : lockBound;
+    }
+
+    private void finish(String executionKey, CompletableFuture<Object> execution, Object value, Throwable error) {
+        executions.remove(executionKey, execution);
+        if (error == null) {
+            execution.complete(value);
+        } else {
+            execution.completeExceptionally(error);
+        }
+    }
+
+    private static byte[] encodeError(long fingerprint, Throwable error) {
+        if (!(error instanceof AccountException)) {
+            return null;
+        }
+        ErrorCode errorCode = ((AccountException) error).getErrorCode();
+        return errorCode == null || RETRYABLE_ERRORS.contains(errorCode)
+                ? null
+                : IdempotentResponseCodec.encode(fingerprint, errorCode);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("account.idempotency", "result", result).increment();
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest()
+                : null;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
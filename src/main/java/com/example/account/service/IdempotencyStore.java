@@ -0,0 +1,20 @@
+package com.example.account.service;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 별 결과 저장소 (값은 IdempotentResponseCodec 으로 직렬화한 byte[])
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 없는 key 면 value(처리 중 표시)를 저장한다.
+     *
+     * @return 이미 저장된 값 (저장에 성공해 key 를 선점한 경우 null)
+     */
+    byte[] putIfAbsent(String key, byte[] value, Duration ttl);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void remove(String key);
+}
@@ -0,0 +1,186 @@
+package com.example.account.service;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Idempotency-Key 결과 직렬화 (JSON 대신 고정 순서 binary, 응답 하나에 약 80 byte)
+ * 모든 항목은 [type][요청 fingerprint(long)] 으로 시작한다.
+ * - PENDING : [0] 처리 중
+ * - USE / CANCEL : [1|2] accountNumber, transactionResult 이름, transactionId, amount, transactedAt
+ * - ERROR : [9] ErrorCode 이름
+ */
+final class IdempotentResponseCodec {
+
+    private static final byte PENDING = 0;
+    private static final byte USE = 1;
+    private static final byte CANCEL = 2;
+    private static final byte ERROR = 9;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private IdempotentResponseCodec() {
+    }
+
+    /**
+     * 같은 key 로 다른 내용을 보낸 요청을 구분하기 위한 요청 본문 hash (FNV-1a 64)
+     * - 사용 : userId, amount / 취소 : transactionId, amount (계좌 번호는 key 에 포함)
+     */
+    static long fingerprint(Object request) {
+        String body;
+        if (request instanceof UseBalance.Request) {
+            UseBalance.Request use = (UseBalance.Request) request;
+            body = USE + ":" + use.getUserId() + ":" + use.getAmount();
+        } else if (request instanceof CancelBalance.Request) {
+            CancelBalance.Request cancel = (CancelBalance.Request) request;
+            body = CANCEL + ":" + cancel.getTransactionId() + ":" + cancel.getAmount();
+        } else {
+            body = String.valueOf(request);
+        }
+
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : body.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    static byte[] pending(long fingerprint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PENDING);
+            out.writeLong(fingerprint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static boolean isPending(byte[] bytes) {
+        return bytes[0] == PENDING;
+    }
+
+    static long fingerprintOf(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            in.readByte();
+            return in.readLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return 저장할 수 없는 응답 타입이면 null
+     */
+    static byte[] encode(long fingerprint, Object response) {
+        if (response instanceof UseBalance.Response) {
+            UseBalance.Response use = (UseBalance.Response) response;
+            return write(USE, fingerprint, use.getAccountNumber(), use.getTransactionResult(),
+                    use.getTransactionId(), use.getAmount(), use.getTransactedAt());
+        }
+        if (response instanceof CancelBalance.Response) {
+            CancelBalance.Response cancel = (CancelBalance.Response) response;
+            return write(CANCEL, fingerprint, cancel.getAccountNumber(), cancel.getTransactionResult(),
+                    cancel.getTransactionId(), cancel.getAmount(), cancel.getTransactedAt());
+        }
+        return null;
+    }
+
+    static byte[] encode(long fingerprint, ErrorCode errorCode) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ERROR);
+            out.writeLong(fingerprint);
+            out.writeUTF(errorCode.name());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 저장된 응답 (ERROR 면 AccountException 을 던진다.)
+     */
+    static Object decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte type = in.readByte();
+            in.readLong();
+            if (type == ERROR) {
+                throw new AccountException(ErrorCode.valueOf(in.readUTF()));
+            }
+
+            String accountNumber = readNullableUTF(in);
+            String result = readNullableUTF(in);
+            String transactionId = readNullableUTF(in);
+            Long amount = in.readBoolean() ? in.readLong() : null;
+            LocalDateTime transactedAt = in.readBoolean()
+                    ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+                    : null;
+            TransactionResultType transactionResult =
+                    result == null ? null : TransactionResultType.valueOf(result);
+
+            if (type == USE) {
+                return new UseBalance.Response(accountNumber, transactionResult,
+                        transactionId, amount, transactedAt);
+            }
+            if (type == CANCEL) {
+                return new CancelBalance.Response(accountNumber, transactionResult,
+                        transactionId, amount, transactedAt);
+            }
+            throw new IllegalStateException("Unknown idempotent response type : " + type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] write(byte type, long fingerprint,
+                                String accountNumber, TransactionResultType transactionResult,
+                                String transactionId, Long amount, LocalDateTime transactedAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(80);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            out.writeLong(fingerprint);
+            writeNullableUTF(out, accountNumber);
+            writeNullableUTF(out, transactionResult == null ? null : transactionResult.name());
+            writeNullableUTF(out, transactionId);
+            out.writeBoolean(amount != null);
+            if (amount != null) {
+                out.writeLong(amount);
+            }
+            out.writeBoolean(transactedAt != null);
+            if (transactedAt != null) {
+                out.writeLong(transactedAt.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(transactedAt.getNano());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.AllArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * 인스턴스별 결과 저장소 (Caffeine, 항목별 TTL)
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> results;
+
+    public LocalIdempotencyStore(long maximumSize) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry,
+                                                  long currentTime, long currentDuration) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public byte[] putIfAbsent(String key, byte[] value, Duration ttl) {
+        Entry previous = results.asMap().putIfAbsent(key, new Entry(value, ttl.toNanos()));
+        return previous == null ? null : previous.value;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        results.put(key, new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void remove(String key) {
+        results.invalidate(key);
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final byte[] value;
+        private final long ttlNanos;
+    }
+}
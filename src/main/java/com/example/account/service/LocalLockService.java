@@ -0,0 +1,139 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * JVM 내부 striped lock
+ * 계좌 번호 hash 로 고정 크기 ReentrantLock 테이블의 stripe 를 고른다.
+ * (서로 다른 계좌가 같은 stripe 를 공유할 수 있다.)
+ * - 임대 시간(leaseMillis)은 적용되지 않는다.
+ * - 공정성은 stripe 생성 시(account.lock.fair)에 정해진다.
+ */
+@Slf4j
+public class LocalLockService implements LockService {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    // 재시작 후에도 DB 에 기록된 토큰보다 커지도록 현재 시각 기준으로 시작
+    private final AtomicLong fencingToken = new AtomicLong(System.currentTimeMillis() * 1000L);
+
+    public LocalLockService(int stripeCount, boolean fair) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+    }
+
+    @Override
+    public boolean appliesLease() {
+        return false;
+    }
+
+    @Override
+    public long lock(String accountNumber, LockOptions options) {
+        log.debug("Trying local lock for accountNumber : {}", accountNumber);
+
+        boolean isLock;
+        try {
+            isLock = stripeOf(accountNumber)
+                    .tryLock(options.getWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isLock = false;
+        }
+
+        if (!isLock) {
+            log.error("============Local lock acquisition failed============");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        return fencingToken.incrementAndGet();
+    }
+
+    @Override
+    public void unlock(String accountNumber, LockOptions options) {
+        log.debug("Local unlock for accountNumber : {}", accountNumber);
+        stripeOf(accountNumber).unlock();
+    }
+
+    /**
+     * 서로 다른 계좌가 같은 stripe 를 공유하므로 계좌 번호가 아닌 stripe 번호 순서로 잡는다.
+     * (같은 stripe 는 한 번만 잡는다.)
+     */
+    @Override
+    public Map<String, Long> lockAll(Collection<String> accountNumbers, LockOptions options) {
+        log.debug("Trying local multi lock for accountNumbers : {}", accountNumbers);
+
+        List<Integer> order = stripeOrder(accountNumbers);
+        long deadline = System.currentTimeMillis() + options.getWaitMillis();
+        int acquired = 0;
+
+        try {
+            while (acquired < order.size()
+                    && stripes[order.get(acquired)].tryLock(
+                    Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (acquired < order.size()) {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[order.get(i)].unlock();
+            }
+            log.error("============Local multi lock acquisition failed============");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        Map<String, Long> fencingTokens = new LinkedHashMap<>();
+        for (String accountNumber : LockService.lockOrder(accountNumbers)) {
+            fencingTokens.put(accountNumber, fencingToken.incrementAndGet());
+        }
+        return fencingTokens;
+    }
+
+    @Override
+    public void unlockAll(Collection<String> accountNumbers, LockOptions options) {
+        log.debug("Local multi unlock for accountNumbers : {}", accountNumbers);
+        List<Integer> order = stripeOrder(accountNumbers);
+        for (int i = order.size() - 1; i >= 0; i--) {
+            stripes[order.get(i)].unlock();
+        }
+    }
+
+    private List<Integer> stripeOrder(Collection<String> accountNumbers) {
+        return new ArrayList<>(accountNumbers.stream()
+                .map(this::stripeIndex)
+                .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    private ReentrantLock stripeOf(String accountNumber) {
+        return stripes[stripeIndex(accountNumber)];
+    }
+
+    private int stripeIndex(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
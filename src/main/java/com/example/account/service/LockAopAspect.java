@@ -1,35 +1,172 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.AccountLockContext;
 import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.AccountLockIdsInterface;
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 @Aspect
 @Component
+@Order(0)
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
 
     private final LockService lockService;
+    private final LockProperties lockProperties;
+    private final TransactionProperties transactionProperties;
+    private final AsyncLockExecutor asyncLockExecutor;
+    private final AccountActorExecutor accountActorExecutor;
+    private final LockMetrics lockMetrics;
 
-    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
+            AccountLock accountLock,
             AccountLockIdInterface request
     ) throws Throwable {
+        // 계좌별 단일 writer (ACTOR) : lock 없이 계좌 queue 에 넣고 순서대로 처리
+        if (accountActorExecutor.isEnabled() && returnsCompletionStage(pjp)) {
+            return accountActorExecutor.execute(request.getAccountNumber(),
+                    () -> proceedAsync(pjp));
+        }
+
+        // lock 이 필요 없는 실행 모드 (LOCKLESS, ACTOR)
+        if (!transactionProperties.isLockRequired()) {
+            return pjp.proceed();
+        }
+
+        LockOptions options = resolveOptions(accountLock);
+
+        // CompletableFuture 를 반환하는 메서드 : 요청 스레드를 점유하지 않고 lock 대기
+        if (isAsync(pjp)) {
+            return asyncLockExecutor.execute(request.getAccountNumber(), options,
+                    () -> proceedAsync(pjp));
+        }
+
         // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
+        long waitStart = System.nanoTime();
+        long fencingToken;
+        try {
+            fencingToken = lockService.lock(request.getAccountNumber(), options);
+        } catch (RuntimeException e) {
+            lockMetrics.failed(LockMetrics.SINGLE, waitStart, e);
+            throw e;
+        }
+        lockMetrics.acquired(LockMetrics.SINGLE, waitStart);
+        long acquired = System.nanoTime();
+        AccountLockContext.setFencingToken(fencingToken);
 
         try {
             return pjp.proceed();
         } finally {
+            AccountLockContext.clear();
             // lock 해제
-            lockService.unlock(request.getAccountNumber());
+            release(LockMetrics.SINGLE, acquired, options,
+                    () -> lockService.unlock(request.getAccountNumber(), options));
+        }
+    }
+
+    /**
+     * 여러 계좌 lock : 계좌 번호 순서로 모두 획득한 뒤 실행한다.
+     */
+    @Around("@annotation(accountLock) && args(request)")
+    public Object aroundMultiAccountMethod(
+            ProceedingJoinPoint pjp,
+            AccountLock accountLock,
+            AccountLockIdsInterface request
+    ) throws Throwable {
+        if (!transactionProperties.isLockRequired()) {
+            return pjp.proceed();
+        }
+
+        LockOptions options = resolveOptions(accountLock);
+
+        if (isAsync(pjp)) {
+            return asyncLockExecutor.executeAll(request.getAccountNumbers(), options,
+                    () -> proceedAsync(pjp));
+        }
+
+        long waitStart = System.nanoTime();
+        Map<String, Long> fencingTokens;
+        try {
+            fencingTokens = lockService.lockAll(request.getAccountNumbers(), options);
+        } catch (RuntimeException e) {
+            lockMetrics.failed(LockMetrics.MULTI, waitStart, e);
+            throw e;
+        }
+        lockMetrics.acquired(LockMetrics.MULTI, waitStart);
+        long acquired = System.nanoTime();
+        AccountLockContext.setFencingTokens(fencingTokens);
+
+        try {
+            return pjp.proceed();
+        } finally {
+            AccountLockContext.clear();
+            release(LockMetrics.MULTI, acquired, options,
+                    () -> lockService.unlockAll(request.getAccountNumbers(), options));
+        }
+    }
+
+    /**
+     * 해제 후 보유 시간 기록
+     * 해제 실패(lease 만료로 이미 풀린 lock, Redis 오류)는 본문의 결과를 가리지 않도록 기록만 한다.
+     * (남은 lock 은 lease 시간이 지나면 만료)
+     */
+    private void release(String type, long acquiredNanos, LockOptions options, Runnable unlock) {
+        RuntimeException unlockError = null;
+        try {
+            unlock.run();
+        } catch (RuntimeException e) {
+            log.error("Unlock failed", e);
+            unlockError = e;
         }
+        lockMetrics.released(type, acquiredNanos,
+                lockService.appliesLease() ? options.getLeaseMillis() : LockMetrics.NO_LEASE, unlockError);
+    }
+
+    private boolean isAsync(ProceedingJoinPoint pjp) {
+        return asyncLockExecutor.isEnabled() && returnsCompletionStage(pjp);
+    }
+
+    private static boolean returnsCompletionStage(ProceedingJoinPoint pjp) {
+        return CompletionStage.class.isAssignableFrom(
+                ((MethodSignature) pjp.getSignature()).getReturnType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> proceedAsync(ProceedingJoinPoint pjp) {
+        try {
+            return (CompletionStage<Object>) pjp.proceed();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private LockOptions resolveOptions(AccountLock accountLock) {
+        return LockOptions.builder()
+                .waitMillis(accountLock.tryLockTime() >= 0
+                        ? accountLock.tryLockTime()
+                        : lockProperties.getWaitTime().toMillis())
+                .leaseMillis(accountLock.leaseTime() >= 0
+                        ? accountLock.leaseTime()
+                        : lockProperties.getLeaseTime().toMillis())
+                .fair(accountLock.fair() || lockProperties.isFair())
+                .build();
     }
 
 }
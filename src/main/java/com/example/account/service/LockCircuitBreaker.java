@@ -0,0 +1,76 @@
+package com.example.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Redis lock 서버 circuit breaker
+ * - CLOSED : Redis 호출. 연속 failureThreshold 번 오류가 나면 OPEN
+ * - OPEN : openDuration 동안 Redis 를 호출하지 않는다. (장애 중 요청마다 timeout 을 기다리지 않도록)
+ * - HALF_OPEN : openDuration 이 지난 뒤 한 요청만 Redis 로 보내고, 성공하면 CLOSED, 실패하면 다시 OPEN
+ * 대기 시간 초과(ACCOUNT_TRANSACTION_LOCK)는 Redis 가 응답한 것이므로 성공으로 본다.
+ */
+@Slf4j
+public class LockCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public LockCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return Redis 를 호출해도 되는 경우 true (HALF_OPEN 에서는 한 요청만)
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        return current == State.OPEN
+                && System.nanoTime() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    public void onSuccess() {
+        // hot path 에서 공유 변수 쓰기를 줄이기 위해 바뀐 경우에만 기록
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (state.get() != State.CLOSED && state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis lock circuit closed.");
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN
+                || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            log.error("Redis lock circuit opened for {} ms.", openNanos / 1_000_000L);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.LockFailurePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 lock metric
+ * - account.lock.wait : lock 대기 시간 (outcome = acquired | failed)
+ * - account.lock.held : lock 보유 시간 (획득 ~ 해제 요청)
+ * - account.lock.failures : 획득 실패 (reason = ErrorCode 또는 예외 클래스)
+ * - account.lock.forced.unlocks : 해제 전에 lease 가 만료됐거나 해제에 실패한 경우
+ * - account.lock.degraded : Redis 장애로 failurePolicy 로 대체한 lock (policy = local | optimistic)
+ * - account.lock.circuit.state : Redis lock circuit 상태 (0 CLOSED, 1 OPEN, 2 HALF_OPEN)
+ * type 태그는 single(계좌 하나) | multi(여러 계좌)
+ */
+@Component
+public class LockMetrics {
+
+    public static final String SINGLE = "single";
+    public static final String MULTI = "multi";
+    // lease 가 없는 lock (LockService.appliesLease 가 false)
+    public static final long NO_LEASE = -1L;
+
+    private final MeterRegistry meterRegistry;
+
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void acquired(String type, long waitStartNanos) {
+        recordWait(type, "acquired", waitStartNanos);
+    }
+
+    public void failed(String type, long waitStartNanos, Throwable error) {
+        recordWait(type, "failed", waitStartNanos);
+        meterRegistry.counter("account.lock.failures",
+                "type", type, "reason", reason(error)).increment();
+    }
+
+    /**
+     * @param acquiredNanos lock 획득 시각
+     * @param leaseMillis   lock 임대 시간 (보유 시간이 더 길면 이미 만료된 lock, 0 이하는 lease 가 없는 lock)
+     * @param unlockError   해제 실패 예외 (없으면 null)
+     */
+    public void released(String type, long acquiredNanos, long leaseMillis, Throwable unlockError) {
+        long heldNanos = System.nanoTime() - acquiredNanos;
+        meterRegistry.timer("account.lock.held", "type", type)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+
+        if (leaseMillis > 0 && heldNanos >= TimeUnit.MILLISECONDS.toNanos(leaseMillis)) {
+            forcedUnlock(type, "lease_expired");
+        } else if (unlockError != null) {
+            forcedUnlock(type, "unlock_failed");
+        }
+    }
+
+    public void degraded(String type, LockFailurePolicy policy) {
+        meterRegistry.counter("account.lock.degraded",
+                "type", type, "policy", policy.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    public void circuitBreaker(LockCircuitBreaker circuitBreaker) {
+        meterRegistry.gauge("account.lock.circuit.state", circuitBreaker,
+                breaker -> breaker.getState().ordinal());
+    }
+
+    private void recordWait(String type, String outcome, long waitStartNanos) {
+        meterRegistry.timer("account.lock.wait", "type", type, "outcome", outcome)
+                .record(System.nanoTime() - waitStartNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void forcedUnlock(String type, String reason) {
+        meterRegistry.counter("account.lock.forced.unlocks",
+                "type", type, "reason", reason).increment();
+    }
+
+    static String reason(Throwable error) {
+        return error instanceof AccountException && ((AccountException) error).getErrorCode() != null
+                ? ((AccountException) error).getErrorCode().name()
+                : error.getClass().getSimpleName();
+    }
+}
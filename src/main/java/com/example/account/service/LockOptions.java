@@ -0,0 +1,29 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * lock 획득 옵션 (@AccountLock 속성 + account.lock 설정에서 결정)
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class LockOptions {
+    private long waitMillis;
+    private long leaseMillis;
+    private boolean fair;
+
+    /**
+     * account.lock 설정값 (@AccountLock 이 없는 경우)
+     */
+    public static LockOptions defaults(LockProperties lockProperties) {
+        return LockOptions.builder()
+                .waitMillis(lockProperties.getWaitTime().toMillis())
+                .leaseMillis(lockProperties.getLeaseTime().toMillis())
+                .fair(lockProperties.isFair())
+                .build();
+    }
+}
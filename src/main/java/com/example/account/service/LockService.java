@@ -2,44 +2,117 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
-@Slf4j
-@Service
-@RequiredArgsConstructor
-public class LockService {
-    private final RedissonClient redissonClient;
+/**
+ * 계좌 lock
+ * 구현체는 account.lock.mode 설정으로 선택한다. (LockConfig 참고)
+ */
+public interface LockService {
 
-    public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+    /**
+     * fencing token 없이 잡은 lock (Redis 장애 시 대체 lock 등)
+     * 실제 token 은 항상 0 보다 크다.
+     */
+    long NO_FENCING_TOKEN = 0L;
 
-        try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+    /**
+     * @param accountNumber lock 대상 계좌 번호
+     * @param options       대기/임대 시간, 공정성
+     * @return 획득할 때마다 단조 증가하는 fencing token
+     * @throws com.example.account.exception.AccountException 대기 시간 안에 획득하지 못한 경우
+     */
+    long lock(String accountNumber, LockOptions options);
+
+    void unlock(String accountNumber, LockOptions options);
 
-            if (!isLock) {
-                log.error("============Lock acquisition failed============");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    /**
+     * 여러 계좌 lock (계좌 이체 등)
+     * 항상 같은 순서(lockOrder)로 획득하므로, 같은 계좌들을 서로 반대 순서로 요청해도 교착되지 않는다.
+     * 하나라도 실패하면 이미 잡은 lock 을 해제하고 예외를 던진다.
+     * @return 계좌 번호별 fencing token
+     */
+    default Map<String, Long> lockAll(Collection<String> accountNumbers, LockOptions options) {
+        Map<String, Long> fencingTokens = new LinkedHashMap<>();
+        try {
+            for (String accountNumber : lockOrder(accountNumbers)) {
+                fencingTokens.put(accountNumber, lock(accountNumber, options));
             }
-        } catch (AccountException e) {
+        } catch (RuntimeException e) {
+            unlockAll(fencingTokens.keySet(), options);
             throw e;
-        } catch (Exception e) {
-            log.error("Redis lock failed");
         }
+        return fencingTokens;
+    }
+
+    /**
+     * 획득의 역순으로 해제
+     */
+    default void unlockAll(Collection<String> accountNumbers, LockOptions options) {
+        List<String> ordered = lockOrder(accountNumbers);
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            unlock(ordered.get(i), options);
+        }
+    }
+
+    /**
+     * 임대 시간(leaseMillis)이 지나면 lock 이 풀리는지 여부
+     * 적용하지 않는 구현체(LocalLockService)는 오래 보유해도 lock 이 유지되므로 lease 만료로 보지 않는다. (LockMetrics)
+     */
+    default boolean appliesLease() {
+        return true;
+    }
+
+    /**
+     * 비동기 lock 지원 여부
+     * 스레드가 소유하는 lock(ReentrantLock 등)은 획득/해제 스레드가 달라질 수 없으므로 지원하지 않는다.
+     */
+    default boolean supportsAsync() {
+        return false;
+    }
+
+    /**
+     * 비동기 lock : 대기하는 동안 스레드를 점유하지 않는다.
+     * 소유자는 스레드가 아닌 ownerId 로 구분하므로, 같은 ownerId 로 어느 스레드에서든 해제할 수 있다.
+     * @return fencing token (대기 시간 안에 획득하지 못한 경우 AccountException 으로 완료)
+     * 비동기 lock 을 지원하지 않는 구현체는 LOCK_SERVICE_UNAVAILABLE 로 실패한 future 를 반환한다. (supportsAsync 참고)
+     */
+    default CompletableFuture<Long> lockAsync(String accountNumber, long ownerId, LockOptions options) {
+        return asyncNotSupported();
+    }
+
+    default CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId, LockOptions options) {
+        return asyncNotSupported();
+    }
+
+    /**
+     * 여러 계좌 비동기 lock (lockAll 과 같은 순서)
+     */
+    default CompletableFuture<Map<String, Long>> lockAllAsync(Collection<String> accountNumbers,
+                                                              long ownerId, LockOptions options) {
+        return asyncNotSupported();
+    }
+
+    default CompletableFuture<Void> unlockAllAsync(Collection<String> accountNumbers,
+                                                   long ownerId, LockOptions options) {
+        return asyncNotSupported();
     }
 
-    public void unlock(String accountNumber) {
-        log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    private static <T> CompletableFuture<T> asyncNotSupported() {
+        return CompletableFuture.failedFuture(new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
     }
 
-    private static String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+    /**
+     * lock 획득 순서 : 중복을 제거한 계좌 번호 오름차순
+     */
+    static List<String> lockOrder(Collection<String> accountNumbers) {
+        return new ArrayList<>(new TreeSet<>(accountNumbers));
     }
 }
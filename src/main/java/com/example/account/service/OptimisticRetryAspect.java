@@ -0,0 +1,85 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import com.example.account.type.LockFailurePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * OPTIMISTIC 모드 재시도
+ * 트랜잭션 advisor 보다 바깥에서 실행되어 시도마다 새 트랜잭션으로 다시 실행한다.
+ * - lock 모드라도 Redis 장애 정책이 OPTIMISTIC 이면 lock 없이 진행할 수 있으므로 같이 재시도한다.
+ * - 재시도하지 않는 모드의 충돌은 ACCOUNT_TRANSACTION_LOCK 으로 바꿔 실패 거래로 기록되게 한다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class OptimisticRetryAspect {
+
+    private final TransactionProperties transactionProperties;
+    private final LockProperties lockProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(com.example.account.aop.OptimisticRetry)")
+    public Object aroundMethod(ProceedingJoinPoint pjp) throws Throwable {
+        if (!isRetryEnabled()) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+
+        String operation = pjp.getSignature().getName();
+        TransactionProperties.Retry retry = transactionProperties.getRetry();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.getMaxAttempts()) {
+                    log.warn("Optimistic lock retries exhausted. operation : {}", operation);
+                    meterRegistry.counter("account.transaction.optimistic.exhausted",
+                            "operation", operation).increment();
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+
+                meterRegistry.counter("account.transaction.optimistic.retries",
+                        "operation", operation).increment();
+                Thread.sleep(backoffMillis(retry, attempt));
+            }
+        }
+    }
+
+    private boolean isRetryEnabled() {
+        return transactionProperties.getExecutionMode() == ExecutionMode.OPTIMISTIC
+                || (transactionProperties.isLockRequired()
+                && lockProperties.getRedis().getFailurePolicy() == LockFailurePolicy.OPTIMISTIC);
+    }
+
+    /**
+     * full jitter : [0, min(maxBackoff, initialBackoff * 2^(attempt-1))]
+     */
+    static long backoffMillis(TransactionProperties.Retry retry, int attempt) {
+        long ceiling = Math.min(
+                retry.getMaxBackoff().toMillis(),
+                retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis INCRBY 기반 블록 예약 (여러 인스턴스가 같은 Redis 를 공유하는 경우)
+ */
+@Component
+@ConditionalOnProperty(name = "account.number.source", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisAccountNumberBlockSource implements AccountNumberBlockSource {
+
+    private static final String COUNTER_KEY = "ACNO:OFFSET";
+
+    private final RedissonClient redissonClient;
+
+    @Override
+    public long reserve(int blockSize) {
+        return redissonClient.getAtomicLong(COUNTER_KEY).addAndGet(blockSize) - blockSize;
+    }
+}
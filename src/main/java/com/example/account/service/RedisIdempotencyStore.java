@@ -0,0 +1,39 @@
+package com.example.account.service;
+
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "IDEMPOTENCY" RMapCache (항목별 TTL)
+ * key 는 문자열, 값은 byte[] 그대로 저장한다.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private final RMapCache<String, byte[]> results;
+
+    public RedisIdempotencyStore(RedissonClient redissonClient) {
+        this.results = redissonClient.getMapCache("IDEMPOTENCY",
+                new CompositeCodec(StringCodec.INSTANCE, ByteArrayCodec.INSTANCE));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String key, byte[] value, Duration ttl) {
+        return results.putIfAbsent(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        results.fastPut(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void remove(String key) {
+        results.fastRemove(key);
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+public class RedisLockService implements LockService {
+    private final RedissonClient redissonClient;
+
+    /**
+     * 계좌 번호별 lock 핸들 (최대 handleCacheSize 개, Caffeine W-TinyLFU : 사용 빈도가 낮은 계좌부터 제거)
+     * RLock 은 key 이름만 가진 상태 없는 객체라 스레드 간에 공유해도 된다.
+     * lock 과 unlock 은 같은 핸들을 사용하며, 그 사이에 제거되더라도 같은 key 의 새 핸들로 해제된다.
+     * (소유자는 객체가 아닌 key 와 "클라이언트 id:스레드 id" 로 구분)
+     */
+    private final Cache<String, LockHandle> handles;
+    private final Function<String, LockHandle> newHandle = LockHandle::new;
+
+    public RedisLockService(RedissonClient redissonClient, int handleCacheSize) {
+        this.redissonClient = redissonClient;
+        this.handles = Caffeine.newBuilder()
+                .maximumSize(handleCacheSize)
+                .build();
+    }
+
+    /**
+     * lock 을 잡지 못하면 항상 예외를 던진다. (lock 없이 진행하지 않음)
+     * - 대기 시간 초과, 인터럽트 : ACCOUNT_TRANSACTION_LOCK
+     * - Redis 오류 : LOCK_SERVICE_UNAVAILABLE (이미 잡은 lock 은 해제 시도)
+     */
+    @Override
+    public long lock(String accountNumber, LockOptions options) {
+        RLock lock = getLock(accountNumber, options);
+        log.debug("Trying lock for accountNumber : {}", accountNumber);
+
+        boolean isLock;
+        try {
+            isLock = lock.tryLock(
+                    options.getWaitMillis(), options.getLeaseMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isLock = false;
+        } catch (RuntimeException e) {
+            throw unavailable(e);
+        }
+
+        if (!isLock) {
+            log.error("============Lock acquisition failed============");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        try {
+            return handle(accountNumber).fencingCounter().incrementAndGet();
+        } catch (RuntimeException e) {
+            releaseQuietly(lock::unlock);
+            throw unavailable(e);
+        }
+    }
+
+    @Override
+    public void unlock(String accountNumber, LockOptions options) {
+        log.debug("Unlock for accountNumber : {}", accountNumber);
+        getLock(accountNumber, options).unlock();
+    }
+
+    /**
+     * RedissonMultiLock : 정렬된 순서로 모든 계좌 lock 을 잡고, 하나라도 실패하면 모두 해제한다.
+     */
+    @Override
+    public Map<String, Long> lockAll(Collection<String> accountNumbers, LockOptions options) {
+        List<String> ordered = LockService.lockOrder(accountNumbers);
+        log.debug("Trying multi lock for accountNumbers : {}", ordered);
+
+        RLock multiLock = getMultiLock(ordered, options);
+        boolean isLock;
+        try {
+            isLock = multiLock.tryLock(
+                    options.getWaitMillis(), options.getLeaseMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isLock = false;
+        } catch (RuntimeException e) {
+            throw unavailable(e);
+        }
+
+        if (!isLock) {
+            log.error("============Multi lock acquisition failed============");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        try {
+            Map<String, Long> fencingTokens = new LinkedHashMap<>();
+            for (String accountNumber : ordered) {
+                fencingTokens.put(accountNumber,
+                        handle(accountNumber).fencingCounter().incrementAndGet());
+            }
+            return fencingTokens;
+        } catch (RuntimeException e) {
+            releaseQuietly(multiLock::unlock);
+            throw unavailable(e);
+        }
+    }
+
+    @Override
+    public void unlockAll(Collection<String> accountNumbers, LockOptions options) {
+        List<String> ordered = LockService.lockOrder(accountNumbers);
+        log.debug("Multi unlock for accountNumbers : {}", ordered);
+        getMultiLock(ordered, options).unlock();
+    }
+
+    @Override
+    public boolean supportsAsync() {
+        return true;
+    }
+
+    /**
+     * Redisson 은 "클라이언트 id:스레드 id" 로 lock 소유자를 기록하므로 스레드 id 자리에 ownerId 를 넘긴다.
+     * 대기는 pub/sub 알림과 타이머로 처리되어 스레드를 점유하지 않는다.
+     */
+    @Override
+    public CompletableFuture<Long> lockAsync(String accountNumber, long ownerId, LockOptions options) {
+        log.debug("Trying async lock for accountNumber : {}", accountNumber);
+
+        RLock lock = getLock(accountNumber, options);
+        return toLockFailure(lock
+                .tryLockAsync(options.getWaitMillis(), options.getLeaseMillis(),
+                        TimeUnit.MILLISECONDS, ownerId)
+                .toCompletableFuture()
+                .thenCompose(isLock -> {
+                    if (!isLock) {
+                        log.error("============Async lock acquisition failed============");
+                        throw new CompletionException(
+                                new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                    }
+                    return handle(accountNumber).fencingCounter().incrementAndGetAsync()
+                            .toCompletableFuture()
+                            .whenComplete((fencingToken, e) -> {
+                                if (e != null) {
+                                    lock.unlockAsync(ownerId);
+                                }
+                            });
+                }));
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId, LockOptions options) {
+        log.debug("Async unlock for accountNumber : {}", accountNumber);
+        return getLock(accountNumber, options).unlockAsync(ownerId).toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> lockAllAsync(Collection<String> accountNumbers,
+                                                             long ownerId, LockOptions options) {
+        List<String> ordered = LockService.lockOrder(accountNumbers);
+        log.debug("Trying async multi lock for accountNumbers : {}", ordered);
+
+        RLock multiLock = getMultiLock(ordered, options);
+        return toLockFailure(multiLock
+                .tryLockAsync(options.getWaitMillis(), options.getLeaseMillis(),
+                        TimeUnit.MILLISECONDS, ownerId)
+                .toCompletableFuture()
+                .thenCompose(isLock -> {
+                    if (!isLock) {
+                        log.error("============Async multi lock acquisition failed============");
+                        throw new CompletionException(
+                                new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                    }
+
+                    Map<String, CompletableFuture<Long>> increments = new LinkedHashMap<>();
+                    for (String accountNumber : ordered) {
+                        increments.put(accountNumber, handle(accountNumber)
+                                .fencingCounter()
+                                .incrementAndGetAsync()
+                                .toCompletableFuture());
+                    }
+                    return CompletableFuture.allOf(increments.values().toArray(new CompletableFuture<?>[0]))
+                            .thenApply(v -> {
+                                Map<String, Long> fencingTokens = new LinkedHashMap<>();
+                                increments.forEach((accountNumber, token) ->
+                                        fencingTokens.put(accountNumber, token.join()));
+                                return fencingTokens;
+                            })
+                            .whenComplete((fencingTokens, e) -> {
+                                if (e != null) {
+                                    multiLock.unlockAsync(ownerId);
+                                }
+                            });
+                }));
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAllAsync(Collection<String> accountNumbers,
+                                                  long ownerId, LockOptions options) {
+        List<String> ordered = LockService.lockOrder(accountNumbers);
+        log.debug("Async multi unlock for accountNumbers : {}", ordered);
+        return getMultiLock(ordered, options).unlockAsync(ownerId).toCompletableFuture();
+    }
+
+    /**
+     * Redis 오류는 LOCK_SERVICE_UNAVAILABLE 로 바꿔서 완료한다. (AccountException 은 그대로)
+     */
+    private static <T> CompletableFuture<T> toLockFailure(CompletableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            result.completeExceptionally(cause instanceof AccountException ? cause : unavailable(cause));
+        });
+        return result;
+    }
+
+    private static AccountException unavailable(Throwable cause) {
+        log.error("Redis lock failed", cause);
+        return new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE);
+    }
+
+    private static void releaseQuietly(Runnable unlock) {
+        try {
+            unlock.run();
+        } catch (RuntimeException e) {
+            log.error("Redis unlock failed", e);
+        }
+    }
+
+    private RLock getMultiLock(List<String> orderedAccountNumbers, LockOptions options) {
+        RLock[] locks = new RLock[orderedAccountNumbers.size()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = getLock(orderedAccountNumbers.get(i), options);
+        }
+        return redissonClient.getMultiLock(locks);
+    }
+
+    private RLock getLock(String accountNumber, LockOptions options) {
+        LockHandle handle = handle(accountNumber);
+        return options.isFair() ? handle.fairLock() : handle.lock();
+    }
+
+    private LockHandle handle(String accountNumber) {
+        return handles.get(accountNumber, newHandle);
+    }
+
+    long handleCount() {
+        handles.cleanUp();
+        return handles.estimatedSize();
+    }
+
+    /**
+     * key 문자열은 핸들을 만들 때 한 번만 만든다.
+     * Redisson 객체는 처음 사용할 때 만든다. (동시에 만들어져도 같은 key 를 가리키므로 무해)
+     */
+    private final class LockHandle {
+        private final String lockKey;
+        private final String fencingKey;
+        private volatile RLock lock;
+        private volatile RLock fairLock;
+        private volatile RAtomicLong fencingCounter;
+
+        private LockHandle(String accountNumber) {
+            this.lockKey = "ACLK:" + accountNumber;
+            this.fencingKey = "ACLK:FENCE:" + accountNumber;
+        }
+
+        private RLock lock() {
+            RLock result = lock;
+            if (result == null) {
+                lock = result = redissonClient.getLock(lockKey);
+            }
+            return result;
+        }
+
+        private RLock fairLock() {
+            RLock result = fairLock;
+            if (result == null) {
+                fairLock = result = redissonClient.getFairLock(lockKey);
+            }
+            return result;
+        }
+
+        private RAtomicLong fencingCounter() {
+            RAtomicLong result = fencingCounter;
+            if (result == null) {
+                fencingCounter = result = redissonClient.getAtomicLong(fencingKey);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * DB 시퀀스(account_number_seq) 기반 블록 예약 (기본값)
+ * 시퀀스 값 하나가 블록 하나에 해당한다. (블록 크기를 바꾸려면 시퀀스를 다시 설정해야 한다.)
+ */
+@Component
+@ConditionalOnProperty(name = "account.number.source", havingValue = "sequence", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SequenceAccountNumberBlockSource implements AccountNumberBlockSource {
+
+    private static final String NEXT_BLOCK_SQL = "select next value for account_number_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long reserve(int blockSize) {
+        Long blockIndex = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+        return Objects.requireNonNull(blockIndex) * blockSize;
+    }
+}
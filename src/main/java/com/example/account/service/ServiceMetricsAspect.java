@@ -0,0 +1,59 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 메서드 실행 시간 (account.service)
+ * - class, method : 호출한 서비스 메서드
+ * - outcome : SUCCESS 또는 ErrorCode (AccountException 이 아닌 예외는 INTERNAL_SERVER_ERROR)
+ * - exception : 예외 클래스 (성공 시 none)
+ * 가장 바깥에서 실행되어 재시도(OptimisticRetryAspect)와 커밋 시간까지 포함한다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String SUCCESS = "SUCCESS";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.account.service.TransactionService.*(..))" +
+            " || execution(public * com.example.account.service.AccountService.*(..))")
+    public Object aroundServiceMethod(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        String exception = "none";
+
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("account.service",
+                    "class", pjp.getSignature().getDeclaringType().getSimpleName(),
+                    "method", pjp.getSignature().getName(),
+                    "outcome", outcome,
+                    "exception", exception));
+        }
+    }
+
+    private static String outcome(Throwable e) {
+        return e instanceof AccountException && ((AccountException) e).getErrorCode() != null
+                ? ((AccountException) e).getErrorCode().name()
+                : ErrorCode.INTERNAL_SERVER_ERROR.name();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.account.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순 거래 아이디 (ULID 와 같은 128bit, 32자리 16진수)
+ * [ 48bit epoch millis | 16bit node id | 64bit sequence ]
+ * - 앞자리가 발급 시각이므로 문자열 정렬 순서 = 발급 순서 (transaction_id 인덱스의 끝에 insert)
+ * - sequence 는 노드 내에서 ms 와 무관하게 증가하는 카운터로, 같은 ms 안에서도 중복되지 않는다.
+ *   시작 값은 랜덤이라 같은 node id 로 재시작해도 이전 아이디와 겹치지 않는다.
+ * - 시계가 뒤로 가면 마지막 발급 시각을 그대로 사용한다.
+ * - lock 없이 CAS 만 사용하고, 문자열은 char 배열에서 한 번에 만든다.
+ */
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long MAX_NODE_ID = 0xFFFF;
+
+    private final long nodeId;
+    private final AtomicLong lastMillis = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    public TimeOrderedTransactionIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String generate() {
+        long now = System.currentTimeMillis();
+        long millis = lastMillis.accumulateAndGet(now, Math::max);
+
+        long high = (millis << 16) | nodeId;
+        long low = sequence.getAndIncrement();
+
+        char[] chars = new char[32];
+        toHex(high, chars, 0);
+        toHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    private static void toHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 거래 내보내기 CLI
+ * account.transaction.export.file 이 있으면 시작 시 파일로 내보낸다.
+ * - 종료는 시작이 끝난 뒤 AccountApplication.main 에서 한다. (실패하면 예외로 시작이 실패)
+ * java -jar account.jar --spring.main.web-application-type=none
+ *      --account.transaction.export.file=/tmp/transactions.csv --account.transaction.export.format=csv
+ *      --account.transaction.export.from=2022-06-01T00:00:00 --account.transaction.export.to=2022-07-01T00:00:00
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.transaction.export.file")
+@RequiredArgsConstructor
+public class TransactionExportRunner implements ApplicationRunner {
+
+    private final TransactionExportService transactionExportService;
+    private final TransactionProperties transactionProperties;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        TransactionProperties.Export export = transactionProperties.getExport();
+        if (export.getFrom() == null || export.getTo() == null || !export.getFrom().isBefore(export.getTo())) {
+            throw new IllegalStateException(
+                    "account.transaction.export.from, to are required and from must be before to.");
+        }
+
+        try (FileChannel channel = FileChannel.open(export.getFile(), CREATE, TRUNCATE_EXISTING, WRITE);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            long count = transactionExportService.export(
+                    export.getFrom(), export.getTo(), export.getFormat(), out);
+            log.info("Transactions exported to {}. count : {}", export.getFile(), count);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.type.ExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+/**
+ * 거래 내보내기 (월말 대사)
+ * 기간의 거래를 forward-only JDBC cursor 로 fetchSize 건씩 읽으면서 바로 출력에 쓴다.
+ * - 엔티티, DTO 목록을 만들지 않으므로 거래 수와 관계없이 메모리 사용량이 일정하다.
+ * - PostgreSQL 은 트랜잭션 안에서만 cursor 로 읽으므로 읽기 전용 트랜잭션에서 조회한다.
+ *   (MySQL 은 useCursorFetch=true, H2 는 LAZY_QUERY_EXECUTION=TRUE 필요 : 없으면 결과를 모두 모은 뒤 읽는다.)
+ * - 정렬하지 않는다. (전체 정렬은 DB 가 결과를 모두 모아야 한다.)
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+
+    static final String EXPORT_SQL =
+            "select t.transaction_id, a.account_number, t.transaction_type, t.transaction_result, " +
+                    "t.amount, t.balance_snapshot, t.cancelled, t.linked_transaction_id, t.transacted_at " +
+                    "from transaction t join account a on a.id = t.account_id " +
+                    "where t.transacted_at >= ? and t.transacted_at < ?";
+
+    private static final String[] COLUMNS = {
+            "transactionId", "accountNumber", "transactionType", "transactionResult",
+            "amount", "balanceSnapshot", "cancelled", "linkedTransactionId", "transactedAt"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(DataSource dataSource,
+                                    ObjectMapper objectMapper,
+                                    TransactionProperties transactionProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(transactionProperties.getExport().getFetchSize());
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param from 포함
+     * @param to   미포함
+     * @param out  닫지 않는다. (flush 만)
+     * @return 내보낸 거래 수
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+
+        try (RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(buffered)
+                : new NdjsonRowWriter(objectMapper, buffered)) {
+            jdbcTemplate.query(EXPORT_SQL, writer,
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+            log.info("Exported {} transactions. from : {}, to : {}, format : {}, elapsed : {} ms",
+                    writer.count, from, to, format, (System.nanoTime() - startNanos) / 1_000_000L);
+            return writer.count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 한 row 씩 출력 (컬럼 순서는 EXPORT_SQL)
+     */
+    private abstract static class RowWriter implements RowCallbackHandler, Closeable {
+
+        long count;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        /**
+         * Timestamp 를 거치지 않고 LocalDateTime 으로 읽는다. (JDBC 4.2)
+         */
+        static LocalDateTime transactedAt(ResultSet rs) throws SQLException {
+            return rs.getObject(9, LocalDateTime.class);
+        }
+    }
+
+    /**
+     * 한 줄에 거래 하나 (JSON 객체)
+     */
+    private static class NdjsonRowWriter extends RowWriter {
+
+        // 필드 이름은 한 번만 인코딩해 둔다.
+        private static final SerializedString[] FIELD_NAMES = Arrays.stream(COLUMNS)
+                .map(SerializedString::new)
+                .toArray(SerializedString[]::new);
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            writeStringField(0, rs.getString(1));
+            writeStringField(1, rs.getString(2));
+            writeStringField(2, rs.getString(3));
+            writeStringField(3, rs.getString(4));
+            writeNumberField(rs, 4);
+            writeNumberField(rs, 5);
+            generator.writeFieldName(FIELD_NAMES[6]);
+            generator.writeBoolean(rs.getBoolean(7));
+            writeStringField(7, rs.getString(8));
+            LocalDateTime transactedAt = transactedAt(rs);
+            writeStringField(8, transactedAt == null ? null : ISO_LOCAL_DATE_TIME.format(transactedAt));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeStringField(int field, String value) throws IOException {
+            generator.writeFieldName(FIELD_NAMES[field]);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(value);
+            }
+        }
+
+        /**
+         * @param field 필드 순번 (컬럼 순번은 + 1)
+         */
+        private void writeNumberField(ResultSet rs, int field) throws SQLException, IOException {
+            generator.writeFieldName(FIELD_NAMES[field]);
+            long value = rs.getLong(field + 1);
+            if (rs.wasNull()) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();  // flush (대상 스트림은 닫지 않음)
+        }
+    }
+
+    /**
+     * 첫 줄은 컬럼 이름, null 은 빈 값
+     * 값은 거래 아이디, 계좌 번호, enum 이름, 숫자, 시각뿐이므로 따옴표로 감싸지 않는다.
+     */
+    private static class CsvRowWriter extends RowWriter {
+
+        private final OutputStream out;
+        // 한 줄을 모아 UTF-8 byte 로 한 번에 쓴다. (Writer 는 호출마다 lock, 문자 단위 인코딩)
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.out = out;
+            this.out.write((String.join(",", COLUMNS) + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            line.setLength(0);
+            appendString(rs.getString(1)).append(',');
+            appendString(rs.getString(2)).append(',');
+            appendString(rs.getString(3)).append(',');
+            appendString(rs.getString(4)).append(',');
+            appendLong(rs, 5).append(',');
+            appendLong(rs, 6).append(',');
+            line.append(rs.getBoolean(7)).append(',');
+            appendString(rs.getString(8)).append(',');
+            LocalDateTime transactedAt = transactedAt(rs);
+            if (transactedAt != null) {
+                ISO_LOCAL_DATE_TIME.formatTo(transactedAt, line);
+            }
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private StringBuilder appendString(String value) {
+            return value == null ? line : line.append(value);
+        }
+
+        private StringBuilder appendLong(ResultSet rs, int column) throws SQLException {
+            long value = rs.getLong(column);
+            return rs.wasNull() ? line : line.append(value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();  // 대상 스트림은 닫지 않음
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account.service;
+
+/**
+ * 거래 아이디 발급
+ * 32자리 소문자 16진수 문자열을 돌려준다.
+ */
+public interface TransactionIdGenerator {
+    String generate();
+}
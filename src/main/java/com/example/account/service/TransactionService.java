@@ -1,29 +1,47 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLockContext;
+import com.example.account.aop.OptimisticRetry;
+import com.example.account.config.CacheConfig;
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
-import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.TransferDto;
+import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
 
 import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.TRANSFER_IN;
+import static com.example.account.type.TransactionType.TRANSFER_OUT;
 import static com.example.account.type.TransactionType.USE;
 
 @Slf4j
@@ -31,9 +49,18 @@ import static com.example.account.type.TransactionType.USE;
 @RequiredArgsConstructor
 public class TransactionService {
 
+    // 거래 내역 기간 조건이 없는 경우
+    private static final LocalDateTime HISTORY_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final TransactionProperties transactionProperties;
+    private final AccountCacheEvictor accountCacheEvictor;
+    private final FailedTransactionWriter failedTransactionWriter;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final BalanceLedger balanceLedger;
 
     /**
      * 잔액 사용
@@ -48,15 +75,22 @@ public class TransactionService {
      * @return 계좌번호, 거래 결과 코드(성공/실패), 거래 아이디, 거래금액, 거래일시
      */
     @Transactional
+    @OptimisticRetry
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
 
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LOCKLESS) {
+            return useBalanceLockless(userId, accountNumber, amount);
+        }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        // 사용자 존재 여부는 캐시 조회 (계좌 소유주는 계좌의 사용자 id 로 비교)
+        validateUserExists(userId);
+
+        boolean fenced = fence(accountNumber);
+
+        Account account = findAccountForWrite(accountNumber);
 
-        validateUseBalance(accountUser, account, amount);
+        validateFence(fenced);
+        validateUseBalance(userId, account, amount);
 
         /* 중요한 데이터를 변경할 때에는 domain내부에서 예외처리와 함께 처리
         Long accountBalance = account.getBalance();
@@ -65,11 +99,45 @@ public class TransactionService {
 
         Transaction transaction = saveAndGetTransaction(USE, S, account, amount);
 
+        accountCacheEvictor.evictAccounts(userId);
+
         return TransactionDto.fromEntity(transaction);
     }
 
-    private static void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
-        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
+    /**
+     * 잔액 사용 (LOCKLESS)
+     * 조건부 UPDATE 한 번으로 검증과 차감을 함께 처리하고, 영향받은 row 수로 성공 여부를 판단한다.
+     * 실패한 경우에만 원인을 찾기 위해 사용자/계좌를 조회한다.
+     */
+    private TransactionDto useBalanceLockless(Long userId, String accountNumber, Long amount) {
+        if (accountRepository.debitBalance(accountNumber, userId, amount) == 0) {
+            validateUserExists(userId);
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+            validateUseBalance(userId, account, amount);
+            // 조회 시점에는 조건을 만족하는 경우 (그 사이 잔액이 변경됨)
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        Transaction transaction = saveAndGetTransaction(USE, S, account, amount);
+
+        accountCacheEvictor.evictAccounts(userId);
+
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    private void validateUserExists(Long userId) {
+        if (!accountUserRepository.existsById(userId)) {
+            throw new AccountException(ErrorCode.USER_NOT_FOUND);
+        }
+    }
+
+    private static void validateUseBalance(Long userId, Account account, Long amount) {
+        if (!Objects.equals(userId, account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
 
@@ -82,13 +150,11 @@ public class TransactionService {
         }
     }
 
-    @Transactional
+    /**
+     * 실패 거래 기록 - queue 에 넣고 바로 반환 (백그라운드에서 batch insert)
+     */
     public void saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-
-        saveAndGetTransaction(USE, F, account, amount);
-
+        failedTransactionWriter.enqueue(USE, accountNumber, amount);
     }
 
     /**
@@ -96,6 +162,7 @@ public class TransactionService {
      * 거래 아이디에 해당하는 거래가 없는 경우, 계좌가 없는 경우, 거래와 계좌가 일치하지 않는 경우
      * 거래금액과 거래 취소 금액이 다른경우(부분 취소 불가능) 실패 응답
      * - 1년이 넘은 거래는 사용 취소 불가능
+     * - 이미 취소된 거래는 다시 취소 불가능
      * - 해당 계좌에서 거래(사용, 사용 취소)가 진행 중일 때
      * 다른 거래 요청이 오는 경우 해당 거래가 동시에 잘못 처리되는 것을 방지해야 한다.
      * @param transactionId
@@ -104,24 +171,78 @@ public class TransactionService {
      * @return 계좌번호, 거래 결과 코드(성공/실패), 거래 아이디, 거래금액, 거래일
      */
     @Transactional
+    @OptimisticRetry
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
 
+        // 원거래의 계좌는 LAZY : 계좌는 fencing 이후에 조회해야 최신 잔액을 읽는다.
         Transaction useTransaction = transactionRepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
 
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LOCKLESS) {
+            return cancelBalanceLockless(useTransaction, accountNumber, amount);
+        }
+
+        boolean fenced = fence(accountNumber);
+
+        Account account = findAccountForWrite(accountNumber);
+
+        validateFence(fenced);
+        validateCancelBalance(useTransaction, account, amount);
+
+        account.cancelBalance(amount);
+
+        Transaction cancelTransaction = saveAndGetCancelTransaction(useTransaction, account, amount);
+
+        evictCaches(useTransaction, account);
+
+        return TransactionDto.fromEntity(cancelTransaction);
+    }
+
+    /**
+     * 잔액 사용 취소 (LOCKLESS)
+     * 원거래 검증 후 해지되지 않은 계좌에 대해서만 조건부 UPDATE 로 잔액을 복구한다.
+     * - 원거래 취소 표시도 조건부 UPDATE 로 먼저 한다. (동시에 들어온 두 번째 취소는 잔액을 복구하지 않음)
+     */
+    private TransactionDto cancelBalanceLockless(Transaction useTransaction,
+                                                 String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateCancelBalance(useTransaction, account, amount);
 
-        account.cancelBalance(amount);
+        if (transactionRepository.markCancelled(useTransaction.getId()) == 0) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
+
+        if (accountRepository.creditBalance(accountNumber, amount) == 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        Account updatedAccount = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        Transaction cancelTransaction = saveAndGetCancelTransaction(useTransaction, updatedAccount, amount);
 
-        Transaction cancelTransaction = saveAndGetTransaction(CANCEL, S, account, amount);
+        evictCaches(useTransaction, updatedAccount);
 
         return TransactionDto.fromEntity(cancelTransaction);
     }
 
+    private void evictCaches(Transaction useTransaction, Account account) {
+        accountCacheEvictor.evictAccounts(account.getAccountUser().getId());
+        accountCacheEvictor.evictTransaction(useTransaction.getTransactionId());
+    }
+
     private static void validateCancelBalance(Transaction transaction, Account account, Long amount) {
+        if (transaction.getTransactionType() == TRANSFER_OUT
+                || transaction.getTransactionType() == TRANSFER_IN) {
+            throw new AccountException(ErrorCode.TRANSACTION_NOT_CANCELLABLE);
+        }
+
+        if (transaction.isCancelled()) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
+
         if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
         }
@@ -135,35 +256,327 @@ public class TransactionService {
         }
     }
 
-    @Transactional
+    /**
+     * 원거래에 취소 표시를 하고, 취소 거래는 linkedTransactionId 로 원거래를 가리킨다.
+     * 원거래를 조회할 때 취소 여부도 같이 읽으므로 취소 거래를 따로 찾지 않는다.
+     */
+    private Transaction saveAndGetCancelTransaction(Transaction useTransaction, Account account, Long amount) {
+        useTransaction.cancel();
+        return saveAndGetTransaction(CANCEL, S, account, amount,
+                transactionIdGenerator.generate(), useTransaction.getTransactionId());
+    }
+
     public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        failedTransactionWriter.enqueue(CANCEL, accountNumber, amount);
+    }
+
+    /**
+     * 계좌 이체
+     * 출금 계좌의 잔액을 차감하고 입금 계좌에 더한 뒤, 서로를 가리키는 출금/입금 거래 한 쌍을 저장한다.
+     * - 출금 계좌 검증은 잔액 사용과 같다. (사용자, 계좌 소유주, 해지 여부, 잔액)
+     * - 두 계좌 lock 은 LockAopAspect 가 계좌 번호 순서로 잡는다.
+     * - DB row lock 도 계좌 번호 순서로 잡아 반대 방향 이체와 교착되지 않도록 한다.
+     */
+    @Transactional
+    @OptimisticRetry
+    public TransferDto transferBalance(Long userId, String fromAccountNumber,
+                                       String toAccountNumber, Long amount) {
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new AccountException(ErrorCode.SAME_ACCOUNT_TRANSFER);
+        }
+
+        // ACTOR 모드의 단일 writer 는 한 계좌 단위이므로 이체는 조건부 UPDATE 로 처리
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LOCKLESS
+                || transactionProperties.getExecutionMode() == ExecutionMode.ACTOR) {
+            return transferBalanceLockless(userId, fromAccountNumber, toAccountNumber, amount);
+        }
+
+        validateUserExists(userId);
+
+        boolean fenced = true;
+        for (String accountNumber : LockService.lockOrder(List.of(fromAccountNumber, toAccountNumber))) {
+            fenced &= fence(accountNumber);
+        }
+
+        Account fromAccount = openLedger(accountRepository.findByAccountNumber(fromAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+        Account toAccount = openLedger(accountRepository.findByAccountNumber(toAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+
+        validateFence(fenced);
+        validateUseBalance(userId, fromAccount, amount);
+        validateDeposit(toAccount);
+
+        fromAccount.useBalance(amount);
+        toAccount.depositBalance(amount);
+
+        return saveTransferTransactions(fromAccount, toAccount, amount);
+    }
+
+    /**
+     * 계좌 이체 (LOCKLESS)
+     * 조건부 UPDATE 두 번 (계좌 번호 순서), 하나라도 실패하면 원인을 찾아 예외 -> 트랜잭션 rollback
+     */
+    private TransferDto transferBalanceLockless(Long userId, String fromAccountNumber,
+                                                String toAccountNumber, Long amount) {
+        boolean transferred = fromAccountNumber.compareTo(toAccountNumber) < 0
+                ? accountRepository.debitBalance(fromAccountNumber, userId, amount) > 0
+                && accountRepository.creditBalance(toAccountNumber, amount) > 0
+                : accountRepository.creditBalance(toAccountNumber, amount) > 0
+                && accountRepository.debitBalance(fromAccountNumber, userId, amount) > 0;
+
+        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        if (!transferred) {
+            validateUserExists(userId);
+            validateUseBalance(userId, fromAccount, amount);
+            validateDeposit(toAccount);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
 
-        saveAndGetTransaction(CANCEL, F, account, amount);
+        return saveTransferTransactions(fromAccount, toAccount, amount);
+    }
+
+    private static void validateDeposit(Account account) {
+        if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    private TransferDto saveTransferTransactions(Account fromAccount, Account toAccount, Long amount) {
+        String withdrawTransactionId = transactionIdGenerator.generate();
+        String depositTransactionId = transactionIdGenerator.generate();
+
+        Transaction withdraw = saveAndGetTransaction(TRANSFER_OUT, S, fromAccount, amount,
+                withdrawTransactionId, depositTransactionId);
+        Transaction deposit = saveAndGetTransaction(TRANSFER_IN, S, toAccount, amount,
+                depositTransactionId, withdrawTransactionId);
+
+        accountCacheEvictor.evictAccounts(fromAccount.getAccountUser().getId());
+        accountCacheEvictor.evictAccounts(toAccount.getAccountUser().getId());
+
+        return TransferDto.fromEntities(withdraw, deposit);
+    }
+
+    public void saveFailedTransferTransaction(String fromAccountNumber, Long amount) {
+        failedTransactionWriter.enqueue(TRANSFER_OUT, fromAccountNumber, amount);
+    }
+
+    /**
+     * 일괄 잔액 사용/취소 (한 계좌)
+     * 하나의 트랜잭션에서 계좌를 한 번만 조회하고 요청 순서대로 처리한다.
+     * - 항목별 검증에 실패한 경우 실패 거래를 같은 트랜잭션에 저장하고 다음 항목을 처리한다.
+     * - lock 이 만료된 경우(ACCOUNT_LOCK_EXPIRED)는 항목별로 처리하지 않고 예외를 던져 트랜잭션 전체를 rollback 한다.
+     * - LOCK/LEDGER 모드는 호출하는 쪽에서 계좌 lock 을 잡고, LOCKLESS/ACTOR 모드는 계좌 row lock 을 잡는다.
+     * @return 항목별 결과 (요청 순서)
+     */
+    @Transactional
+    @OptimisticRetry
+    public List<BatchTransaction.Result> applyBatch(String accountNumber,
+                                                    List<BatchTransaction.Item> items) {
+        Account account = getBatchAccount(accountNumber);
+
+        List<BatchTransaction.Result> results = new ArrayList<>(items.size());
+        boolean balanceChanged = false;
+
+        for (BatchTransaction.Item item : items) {
+            try {
+                Transaction transaction = item.getUse() != null
+                        ? applyUse(account, item.getUse())
+                        : applyCancel(account, item.getCancel());
+
+                results.add(BatchTransaction.Result.from(TransactionDto.fromEntity(transaction)));
+                balanceChanged = true;
+            } catch (AccountException e) {
+                // LEDGER 모드 순번 충돌 : 실패한 flush 로 트랜잭션과 ledger 잔액/순번을 더 쓸 수 없으므로 계좌 전체를 실패 처리
+                if (e.getErrorCode() == ErrorCode.ACCOUNT_LOCK_EXPIRED) {
+                    throw e;
+                }
+
+                Transaction failedTransaction = saveAndGetTransaction(
+                        item.getTransactionType(), F, account, item.getAmount());
+
+                results.add(BatchTransaction.Result.from(
+                        TransactionDto.fromEntity(failedTransaction), e.getErrorCode()));
+            }
+        }
+
+        if (balanceChanged) {
+            accountCacheEvictor.evictAccounts(account.getAccountUser().getId());
+        }
+
+        return results;
+    }
+
+    private Account getBatchAccount(String accountNumber) {
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LOCKLESS
+                || transactionProperties.getExecutionMode() == ExecutionMode.ACTOR) {
+            return accountRepository.findForUpdateByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        }
+
+        boolean fenced = fence(accountNumber);
+
+        Account account = openLedger(accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+
+        validateFence(fenced);
+        return account;
+    }
+
+    private Transaction applyUse(Account account, UseBalance.Request request) {
+        validateUserExists(request.getUserId());
+        validateUseBalance(request.getUserId(), account, request.getAmount());
+
+        account.useBalance(request.getAmount());
+
+        return saveAndGetTransaction(USE, S, account, request.getAmount());
+    }
+
+    private Transaction applyCancel(Account account, CancelBalance.Request request) {
+        Transaction useTransaction = transactionRepository.findByTransactionId(request.getTransactionId())
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+
+        validateCancelBalance(useTransaction, account, request.getAmount());
+
+        account.cancelBalance(request.getAmount());
+
+        accountCacheEvictor.evictTransaction(useTransaction.getTransactionId());
+
+        return saveAndGetCancelTransaction(useTransaction, account, request.getAmount());
+    }
+
+    /**
+     * ACTOR 모드는 인스턴스 간 직렬화를 위해 계좌 row lock 을 잡는다.
+     * (같은 트랜잭션으로 묶인 연속 요청은 이미 잡은 lock 을 그대로 사용)
+     */
+    private Account findAccountForWrite(String accountNumber) {
+        Optional<Account> account = transactionProperties.getExecutionMode() == ExecutionMode.ACTOR
+                ? accountRepository.findForUpdateByAccountNumber(accountNumber)
+                : accountRepository.findByAccountNumber(accountNumber);
+        return openLedger(account.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    /**
+     * LEDGER 모드는 계좌 잔액을 변경하지 않는다.
+     * 계좌 lock 을 잡은 상태에서 ledger 잔액과 마지막 거래 순번을 읽고, 성공 거래마다 다음 순번을 붙여 insert 한다.
+     */
+    private Account openLedger(Account account) {
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LEDGER) {
+            balanceLedger.open(account);
+        }
+        return account;
+    }
+
+    /**
+     * 현재 lock 의 fencing token 을 계좌에 기록한다.
+     * 계좌를 읽기 전에 기록하므로, 이후 조회는 row lock 을 잡은 상태에서 최신 잔액을 읽는다.
+     * lock 임대 시간이 만료된 뒤(GC pause 등) 늦게 도착한 요청은 더 최신 token 에 막힌다.
+     * - LEDGER 모드는 계좌 row 를 변경하지 않는다. (늦게 도착한 요청은 같은 거래 순번 unique 제약에 막힌다.)
+     * @return fencing token 이 없거나(NO_FENCING_TOKEN 포함) 기록에 성공한 경우 true
+     */
+    private boolean fence(String accountNumber) {
+        if (transactionProperties.getExecutionMode() == ExecutionMode.LEDGER) {
+            return true;
+        }
+        Long fencingToken = AccountLockContext.getFencingToken(accountNumber);
+        if (fencingToken == null || fencingToken == LockService.NO_FENCING_TOKEN) {
+            return true;
+        }
+        return accountRepository.updateFencingToken(accountNumber, fencingToken) > 0;
+    }
+
+    private static void validateFence(boolean fenced) {
+        if (!fenced) {
+            throw new AccountException(ErrorCode.ACCOUNT_LOCK_EXPIRED);
+        }
     }
 
     private Transaction saveAndGetTransaction(TransactionType transactionType,
                                               TransactionResultType transactionResultType, Account account, Long amount) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResult(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        /*UUID를 사용하여 임의의 ID를 받는다.*/
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+        return saveAndGetTransaction(transactionType, transactionResultType, account, amount,
+                transactionIdGenerator.generate(), null);
     }
 
-    @Transactional
-    public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+    private Transaction saveAndGetTransaction(TransactionType transactionType,
+                                              TransactionResultType transactionResultType, Account account, Long amount,
+                                              String transactionId, String linkedTransactionId) {
+        Transaction transaction = Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResult(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(account.getBalance())
+                .transactionId(transactionId)
+                .linkedTransactionId(linkedTransactionId)
+                .ledgerSequence(transactionResultType == S ? account.nextLedgerSequence() : null)
+                .transactedAt(LocalDateTime.now())
+                .build();
+
+        if (transaction.getLedgerSequence() == null) {
+            return transactionRepository.save(transaction);
+        }
+
+        // LEDGER 모드 : 같은 순번을 먼저 쓴 요청이 있으면 lock 이 만료된 늦은 요청
+        try {
+            return transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new AccountException(ErrorCode.ACCOUNT_LOCK_EXPIRED);
+        }
+    }
+
+    /**
+     * 거래 확인
+     * - 읽기 전용 트랜잭션 + projection 조회 (엔티티 스냅샷, flush 없음)
+     * - 저장된 거래는 변경되지 않으므로 캐시 (사용 취소 시 원거래 삭제)
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TRANSACTION)
+    public QueryTransactionResponse queryTransaction(String transactionId) {
+        return transactionRepository.findQueryResponseByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * 계좌 거래 내역 (최근 거래 순)
+     * 거래 유형, 결과, 기간(from 포함, to 미포함)으로 거르고 cursor 이후 size 건을 조회한다.
+     * - keyset 페이지 : 페이지가 뒤로 가도 앞의 거래를 다시 읽지 않는다.
+     * - size + 1 건을 읽어 다음 페이지가 있는 경우에만 nextCursor 를 준다.
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistory.Response getTransactionHistory(String accountNumber,
+                                                             TransactionHistory.Request request) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        TransactionHistory.Cursor cursor = request.getCursor() != null
+                ? TransactionHistory.Cursor.decode(request.getCursor())
+                : new TransactionHistory.Cursor(
+                        request.getTo() != null ? request.getTo() : HISTORY_MAX, Long.MIN_VALUE);
+
+        List<TransactionHistoryItem> transactions = transactionRepository.findHistory(
+                account.getId(),
+                request.getFrom() != null ? request.getFrom() : HISTORY_MIN,
+                cursor.getTransactedAt(),
+                cursor.getId(),
+                request.getType(),
+                request.getResult(),
+                PageRequest.of(0, request.getSize() + 1));
+
+        String nextCursor = null;
+        if (transactions.size() > request.getSize()) {
+            transactions = transactions.subList(0, request.getSize());
+            nextCursor = TransactionHistory.Cursor.from(
+                    transactions.get(transactions.size() - 1)).encode();
+        }
+
+        return TransactionHistory.Response.builder()
+                .accountNumber(accountNumber)
+                .transactions(transactions)
+                .nextCursor(nextCursor)
+                .build();
     }
 }
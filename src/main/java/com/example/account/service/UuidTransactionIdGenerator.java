@@ -0,0 +1,15 @@
+package com.example.account.service;
+
+import java.util.UUID;
+
+/**
+ * 랜덤 UUID 에서 '-' 를 제거한 거래 아이디 (이전 방식)
+ * SecureRandom 을 사용하고, 발급 순서와 무관하므로 transaction_id 인덱스에 흩어져 insert 된다.
+ */
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
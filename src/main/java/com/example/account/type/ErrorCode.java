@@ -20,8 +20,15 @@ public enum ErrorCode {
     TRANSACTION_ACCOUNT_UN_MATCH("현재 계좌가 거래에 사용된 계좌와 일치하지 않습니다."),
     TRANSACTION_AMOUNT_UN_MATCH("거래 금액과 거래 취소 금액이 다릅니다.(부분 취소 불가능)"),
     TOO_OLD_ORDER_TO_CANCEL("1년이 넘은 거래는 사용 취소가 불가능합니다."),
+    TRANSACTION_NOT_CANCELLABLE("계좌 이체 거래는 사용 취소가 불가능합니다."),
+    TRANSACTION_ALREADY_CANCELLED("이미 취소된 거래입니다."),
+    SAME_ACCOUNT_TRANSFER("출금 계좌와 입금 계좌가 같습니다."),
     INVALID_REQUEST("잘못된 요청입니다."),
-    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용중입니다.");
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용중입니다."),
+    ACCOUNT_LOCK_EXPIRED("계좌 lock 이 만료되었습니다."),
+    LOCK_SERVICE_UNAVAILABLE("계좌 lock 서버를 사용할 수 없습니다."),
+    IDEMPOTENCY_KEY_IN_PROGRESS("같은 Idempotency-Key 로 처리 중인 요청이 있습니다."),
+    ACCOUNT_NUMBER_EXHAUSTED("발급 가능한 계좌 번호가 없습니다.");
 
     private String description;
 
@@ -0,0 +1,9 @@
+package com.example.account.type;
+
+public enum ExecutionMode {
+    LOCK,       // 계좌 lock + 엔티티 변경 감지 (기본값)
+    LOCKLESS,   // lock 없이 조건부 UPDATE 한 번으로 잔액 변경
+    OPTIMISTIC, // lock 없이 Account.version 으로 충돌 감지 후 재시도
+    ACTOR,      // lock 없이 계좌별 단일 writer 가 순서대로 처리 (연속 요청은 한 트랜잭션, 계좌 row lock)
+    LEDGER      // 계좌 lock + 거래 insert 만 (잔액은 체크포인트 + 이후 거래 합계, 계좌 잔액 update 없음)
+}
@@ -0,0 +1,10 @@
+package com.example.account.type;
+
+/**
+ * Redis lock 서버 장애 시 처리 (account.lock.redis.failure-policy)
+ */
+public enum LockFailurePolicy {
+    FAIL_CLOSED, // 요청 실패 (LOCK_SERVICE_UNAVAILABLE, 기본값)
+    LOCAL,       // JVM 로컬 lock 으로 대체 (인스턴스 안에서만 직렬화, fencing token 없음)
+    OPTIMISTIC   // lock 없이 실행 (Account.version 으로 동시 변경 감지, 충돌한 요청은 실패)
+}
@@ -1,5 +1,11 @@
 package com.example.account.type;
 
 public enum TransactionType {
-    USE, CANCEL
+    USE, CANCEL,
+    TRANSFER_OUT, TRANSFER_IN;  // 계좌 이체 출금, 입금
+
+    /**
+     * LEDGER 잔액에서 차감되는 거래 종류 (JPQL, native SQL 에서 같이 쓰는 문자열 literal)
+     */
+    public static final String LEDGER_DEBITS = "'USE', 'TRANSFER_OUT'";
 }
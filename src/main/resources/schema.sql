@@ -0,0 +1 @@
+create sequence if not exists account_number_seq start with 0 minvalue 0 increment by 1;
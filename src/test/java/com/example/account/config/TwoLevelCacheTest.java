@@ -0,0 +1,175 @@
+package com.example.account.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private RMapCache<Object, Object> remote;
+
+    @Mock
+    private RTopic evictTopic;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoLevelCache("test",
+                Caffeine.newBuilder().maximumSize(100).build(),
+                remote, Duration.ofSeconds(30), evictTopic, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("L1 에 있으면 L2 를 조회하지 않는다.")
+    void l1Hit() {
+        // given
+        cache.put(1L, "value");
+
+        // when
+        Object value = cache.get(1L).get();
+
+        // then
+        assertEquals("value", value);
+        verify(remote, times(1)).fastPut(1L, "value", 30_000L, TimeUnit.MILLISECONDS);
+        verify(remote, never()).get(any());
+        assertEquals(1.0, count("l1_hit"));
+    }
+
+    @Test
+    @DisplayName("L2 에서 찾은 값은 L1 에 채운다.")
+    void l2Hit() {
+        // given
+        given(remote.get(1L)).willReturn("value");
+
+        // when
+        Object first = cache.get(1L).get();
+        Object second = cache.get(1L).get();
+
+        // then
+        assertEquals("value", first);
+        assertEquals("value", second);
+        verify(remote, times(1)).get(1L);
+        assertEquals(1.0, count("l2_hit"));
+        assertEquals(1.0, count("l1_hit"));
+    }
+
+    @Test
+    @DisplayName("L1, L2 모두 없으면 miss - 원본에서 읽은 값을 저장")
+    void miss() {
+        // given
+        given(remote.get(1L)).willReturn(null);
+
+        // when
+        String value = cache.get(1L, () -> "loaded");
+
+        // then
+        assertEquals("loaded", value);
+        verify(remote, times(1)).fastPut(1L, "loaded", 30_000L, TimeUnit.MILLISECONDS);
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    @DisplayName("null 은 저장하지 않는다.")
+    void nullNotCached() {
+        // given
+        // when
+        cache.put(1L, null);
+
+        // then
+        verify(remote, never()).fastPut(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("삭제 - L1, L2 삭제 후 다른 인스턴스에 알림")
+    void evict() {
+        // given
+        cache.put(1L, "value");
+        given(remote.fastRemoveAsync(1L)).willReturn(new CompletableFutureWrapper<>(1L));
+        given(evictTopic.publishAsync(1L)).willReturn(new CompletableFutureWrapper<>(1L));
+
+        // when
+        cache.evict(1L);
+
+        // then
+        verify(remote, times(1)).fastRemoveAsync(1L);
+        verify(evictTopic, times(1)).publishAsync(1L);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("삭제 - Redis 오류는 호출자에게 던지지 않고 L1 은 삭제")
+    void evict_redisFailure() {
+        // given
+        cache.put(1L, "value");
+        given(remote.fastRemoveAsync(1L)).willThrow(new RedisConnectionException("down"));
+        given(evictTopic.publishAsync(1L)).willReturn(new CompletableFutureWrapper<>(
+                (Throwable) new RedisConnectionException("down")));
+
+        // when
+        assertDoesNotThrow(() -> cache.evict(1L));
+
+        // then
+        verify(evictTopic, times(1)).publishAsync(1L);
+        assertEquals(1.0, meterRegistry.counter("account.cache.evictions", "cache", "test").count());
+    }
+
+    @Test
+    @DisplayName("L2, evict 알림을 쓰지 않으면 Redis 를 호출하지 않는다.")
+    void evict_localOnly() {
+        // given
+        TwoLevelCache localOnly = new TwoLevelCache("local",
+                Caffeine.newBuilder().maximumSize(100).build(),
+                null, Duration.ofSeconds(30), null, meterRegistry);
+        localOnly.put(1L, "value");
+
+        // when
+        localOnly.evict(1L);
+
+        // then
+        assertNull(localOnly.get(1L));
+        verifyNoInteractions(remote, evictTopic);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 삭제 알림 - L1 만 삭제")
+    void evictLocal() {
+        // given
+        cache.put(1L, "value");
+
+        // when
+        cache.evictLocal(1L);
+
+        // then
+        assertNull(cache.get(1L));
+        verify(remote, times(1)).get(1L);
+        verify(remote, never()).fastRemoveAsync(any());
+        verify(evictTopic, never()).publishAsync(any());
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("account.cache.gets", "cache", "test", "result", result).count();
+    }
+}
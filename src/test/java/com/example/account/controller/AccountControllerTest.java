@@ -1,6 +1,7 @@
 package com.example.account.controller;
 
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
 import com.example.account.exception.AccountException;
@@ -94,18 +95,18 @@ class AccountControllerTest {
     @DisplayName("계좌 확인 성공")
     void successGetAccountByUserId() throws Exception {
 
-        List<AccountDto> accountDtos = new ArrayList<>();
+        List<AccountInfo> accountInfos = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
             String accountNumber = "10000000" + i;
             Long balance = i * 10000L;
-            accountDtos.add(AccountDto.builder()
+            accountInfos.add(AccountInfo.builder()
                     .accountNumber(accountNumber)
                     .balance(balance).build());
         }
 
         // given
         given(accountService.getAccountByUserId(anyLong()))
-                .willReturn(accountDtos);
+                .willReturn(accountInfos);
 
         // when
         // then
@@ -0,0 +1,133 @@
+package com.example.account.controller;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AccountActorExecutor;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ACTOR 모드 트랜잭션 rollback 동작을 실제 DB 로 확인
+ * - 묶음 트랜잭션 안의 업무 실패는 해당 요청만 빠진다.
+ * - 묶음 트랜잭션 밖의 참여 트랜잭션 실패는 기본 동작대로 전체를 rollback 한다.
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6394",
+        "spring.datasource.url=jdbc:h2:mem:actor",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "account.transaction.execution-mode=actor"
+})
+class ActorModeTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountActorExecutor accountActorExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("묶음 트랜잭션 - 잔액 부족 요청만 실패하고 나머지는 같은 트랜잭션으로 커밋 (다시 실행하지 않음)")
+    void batch_businessFailureDoesNotRollbackOthers() throws InterruptedException {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        String accountNumber = account.getAccountNumber();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        accountActorExecutor.execute(accountNumber, () -> {
+            started.countDown();
+            await(release);
+            return CompletableFuture.completedFuture(null);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        CompletableFuture<Object> first = use(accountNumber, 1000L);
+        CompletableFuture<Object> exceeded = use(accountNumber, 1_000_000L);
+        CompletableFuture<Object> second = use(accountNumber, 2000L);
+        release.countDown();
+
+        // then
+        first.join();
+        second.join();
+        CompletionException exception = assertThrows(CompletionException.class, exceeded::join);
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) exception.getCause()).getErrorCode());
+        assertEquals(7000L, balanceColumn(accountNumber));
+        // 대기 중이던 요청의 트랜잭션 + 묶음 트랜잭션
+        assertEquals(2, statistics.getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("묶음 트랜잭션 밖 - 참여 트랜잭션 실패는 바깥 트랜잭션도 rollback")
+    void outsideBatch_participationFailureRollsBack() {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        String accountNumber = account.getAccountNumber();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        assertThrows(UnexpectedRollbackException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            transactionService.useBalance(USER_ID, accountNumber, 1000L);
+            assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(USER_ID, accountNumber, 1_000_000L));
+        }));
+
+        // then
+        assertEquals(10000L, balanceColumn(accountNumber));
+    }
+
+    private CompletableFuture<Object> use(String accountNumber, Long amount) {
+        return accountActorExecutor.execute(accountNumber, () -> CompletableFuture.completedFuture(
+                transactionService.useBalance(USER_ID, accountNumber, amount)));
+    }
+
+    private long balanceColumn(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+                "select balance from account where account_number = ?", Long.class, accountNumber);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
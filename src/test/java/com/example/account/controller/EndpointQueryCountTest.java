@@ -0,0 +1,343 @@
+package com.example.account.controller;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * API 별 실행되는 SQL 수 (Hibernate statistics)
+ * - 연관 관계 LAZY 조회로 인한 추가 select (N+1) 가 생기지 않는지 확인한다.
+ * - 계좌 번호 블록 예약(sequence)은 JdbcTemplate 으로 실행되어 집계되지 않는다.
+ * - 사용자 존재 여부는 캐시된 상태에서 측정한다.
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6391",
+        "spring.datasource.url=jdbc:h2:mem:query-count",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    private static final long USER_ID = 2L;
+    private static final long HISTORY_USER_ID = 3L; // 사용자별 최대 계좌 수
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accountUserRepository.existsById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("계좌 생성 - 계좌 수 조회, id 발급, insert")
+    void createAccount() throws Exception {
+        // given
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/account")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID + ",\"initialBalance\":10000}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("계좌 확인 - 계좌 목록 projection (엔티티 로딩 없음), 이후 캐시")
+    void getAccountsByUserId() throws Exception {
+        // given
+        accountService.createAccount(USER_ID, 10000L);
+        accountService.createAccount(USER_ID, 20000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(status().isOk());
+        long first = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(1, first);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 후 계좌 확인 - 캐시 삭제 후 변경된 잔액 조회")
+    void getAccountsByUserId_evictedAfterUseBalance() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(status().isOk());
+        transactionService.useBalance(USER_ID, account.getAccountNumber(), 1000L);
+        statistics.clear();
+
+        // when
+        // then
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.accountNumber == '"
+                        + account.getAccountNumber() + "')].balance").value(9000));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("계좌 해지 - 계좌 조회, update")
+    void deleteAccount() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 0L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(delete("/account")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"accountNumber\":\"" + account.getAccountNumber() + "\"}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - fencing, 계좌 조회, id 발급, 거래 insert, 잔액 update (조회는 계좌 1회)")
+    void useBalance() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"accountNumber\":\"" + account.getAccountNumber()
+                                + "\",\"amount\":1000}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 실패 - 요청 스레드는 fencing, 계좌 조회만 (실패 거래는 백그라운드 batch insert)")
+    void useBalance_failed() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"accountNumber\":\"" + account.getAccountNumber()
+                                + "\",\"amount\":20000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("AMOUNT_EXCEED_BALANCE"));
+
+        // then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, awaitFailedTransactionCount(account.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 원거래 조회, fencing, 계좌 조회, id 발급, 거래 insert, 잔액 update, 원거래 취소 표시")
+    void cancelBalance() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        TransactionDto used = transactionService.useBalance(
+                USER_ID, account.getAccountNumber(), 1000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/transaction/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionId\":\"" + used.getTransactionId()
+                                + "\",\"accountNumber\":\"" + account.getAccountNumber()
+                                + "\",\"amount\":1000}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(7, statistics.getPrepareStatementCount());
+
+        // 원거래의 취소 표시로 다시 취소할 수 없음
+        mockMvc.perform(post("/transaction/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionId\":\"" + used.getTransactionId()
+                                + "\",\"accountNumber\":\"" + account.getAccountNumber()
+                                + "\",\"amount\":1000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("TRANSACTION_ALREADY_CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 - 페이지마다 계좌 조회, 거래 내역 projection 1회")
+    void transactionHistory() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(HISTORY_USER_ID, 10000L);
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            used.add(transactionService.useBalance(
+                    HISTORY_USER_ID, account.getAccountNumber(), 100L).getTransactionId());
+        }
+        Collections.reverse(used);
+        String url = "/account/" + account.getAccountNumber() + "/transactions?size=2";
+
+        // when
+        List<String> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            MvcResult result = mockMvc.perform(get(cursor == null ? url : url + "&cursor=" + cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertEquals(2, statistics.getPrepareStatementCount());
+
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+            body.get("transactions").forEach(item -> pages.add(item.get("transactionId").asText()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+        } while (cursor != null);
+
+        // then
+        assertEquals(used, pages);
+    }
+
+    @Test
+    @DisplayName("거래 내보내기 - JDBC cursor 로 바로 씀 (Hibernate statement, 엔티티 로딩 없음)")
+    void exportTransactions() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(HISTORY_USER_ID, 10000L);
+        TransactionDto used = transactionService.useBalance(
+                HISTORY_USER_ID, account.getAccountNumber(), 1000L);
+        statistics.clear();
+
+        // when
+        MvcResult result = mockMvc.perform(get("/transaction/export?format=CSV"
+                        + "&from=2000-01-01T00:00:00&to=2100-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        String csv = result.getResponse().getContentAsString();
+        assertTrue(csv.startsWith("transactionId,accountNumber,"));
+        assertTrue(csv.contains(used.getTransactionId() + "," + account.getAccountNumber() + ",USE,S,1000,9000,"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("일괄 잔액 사용 - fencing, 계좌 조회 1회, 항목별 id 발급, 거래 insert 한 batch, 잔액 update 1회")
+    void batch() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        String item = "{\"use\":{\"userId\":" + USER_ID
+                + ",\"accountNumber\":\"" + account.getAccountNumber() + "\",\"amount\":%d}}";
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/transaction/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":["
+                                + String.format(item, 1000) + ","
+                                + String.format(item, 1000) + ","
+                                + String.format(item, 20000) + ","
+                                + String.format(item, 1000) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+                .andExpect(jsonPath("$.results[2].transactionResult").value("F"))
+                .andExpect(jsonPath("$.results[2].errorCode").value("AMOUNT_EXCEED_BALANCE"))
+                .andExpect(jsonPath("$.results[3].transactionResult").value("S"));
+
+        // then
+        assertEquals(1, statistics.getEntityStatistics(Account.class.getName()).getLoadCount());
+        assertEquals(8, statistics.getPrepareStatementCount());
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(jsonPath("$[?(@.accountNumber == '"
+                        + account.getAccountNumber() + "')].balance").value(7000));
+    }
+
+    @Test
+    @DisplayName("거래 확인 - 거래와 계좌 번호 projection 한 번 (엔티티 로딩 없음), 이후 캐시")
+    void queryTransaction() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        TransactionDto used = transactionService.useBalance(
+                USER_ID, account.getAccountNumber(), 1000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(get("/transaction/" + used.getTransactionId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/transaction/" + used.getTransactionId()))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private int awaitFailedTransactionCount(String accountNumber) throws InterruptedException {
+        String sql = "select count(*) from transaction t join account a on t.account_id = a.id " +
+                "where a.account_number = ? and t.transaction_result = 'F'";
+        long deadline = System.currentTimeMillis() + 5000;
+        int count;
+        while ((count = jdbcTemplate.queryForObject(sql, Integer.class, accountNumber)) == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        return count;
+    }
+}
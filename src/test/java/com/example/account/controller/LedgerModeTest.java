@@ -0,0 +1,252 @@
+package com.example.account.controller;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.service.AccountService;
+import com.example.account.service.BalanceLedger;
+import com.example.account.service.BatchTransactionService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * LEDGER 모드 (거래가 원장, 잔액 = 체크포인트 + 이후 거래 합계)
+ * - 잔액을 바꾸는 거래는 계좌 row 를 변경하지 않는다.
+ * - 체크포인트는 짧은 주기로 기록되도록 설정하고 기다린다.
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6392",
+        "spring.datasource.url=jdbc:h2:mem:ledger",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "account.transaction.execution-mode=ledger",
+        "account.transaction.ledger.checkpoint-interval=100ms"
+})
+@AutoConfigureMockMvc
+class LedgerModeTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @SpyBean
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 계좌 update (fencing token 포함) 없이 다음 순번 거래 insert 만, 계좌 확인은 ledger 잔액")
+    void useBalance() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        statistics.clear();
+
+        // when
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"accountNumber\":\"" + account.getAccountNumber()
+                                + "\",\"amount\":1000}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(0, statistics.getEntityStatistics(Account.class.getName()).getUpdateCount());
+        assertEquals(10000L, accountBalanceColumn(account.getAccountNumber()));
+        assertNull(jdbcTemplate.queryForObject(
+                "select fencing_token from account where account_number = ?",
+                Long.class, account.getAccountNumber()));
+        assertEquals(List.of(1L), ledgerSequences(account.getAccountNumber()));
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(jsonPath("$[?(@.accountNumber == '"
+                        + account.getAccountNumber() + "')].balance").value(9000));
+    }
+
+    @Test
+    @DisplayName("사용, 취소, 이체 후 체크포인트 기록 - 잔액은 체크포인트 + 이후 거래")
+    void checkpoint() throws Exception {
+        // given
+        AccountDto from = accountService.createAccount(USER_ID, 10000L);
+        AccountDto to = accountService.createAccount(USER_ID, 0L);
+        TransactionDto used = transactionService.useBalance(USER_ID, from.getAccountNumber(), 3000L);
+        transactionService.cancelBalance(used.getTransactionId(), from.getAccountNumber(), 3000L);
+        transactionService.useBalance(USER_ID, from.getAccountNumber(), 1000L);
+
+        // when
+        mockMvc.perform(post("/transaction/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"fromAccountNumber\":\"" + from.getAccountNumber()
+                                + "\",\"toAccountNumber\":\"" + to.getAccountNumber()
+                                + "\",\"amount\":2000}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(List.of(7000L, 4L), awaitCheckpoint(from.getAccountNumber(), 4L));
+        assertEquals(List.of(2000L, 1L), awaitCheckpoint(to.getAccountNumber(), 1L));
+
+        TransactionDto afterCheckpoint = transactionService.useBalance(
+                USER_ID, from.getAccountNumber(), 500L);
+        assertEquals(6500L, afterCheckpoint.getBalanceSnapshot());
+        mockMvc.perform(get("/account?user_id=" + USER_ID))
+                .andExpect(jsonPath("$[?(@.accountNumber == '"
+                        + from.getAccountNumber() + "')].balance").value(6500))
+                .andExpect(jsonPath("$[?(@.accountNumber == '"
+                        + to.getAccountNumber() + "')].balance").value(2000));
+    }
+
+    @Test
+    @DisplayName("계좌 해지 - 계좌 잔액 컬럼이 아닌 ledger 잔액으로 확인")
+    void deleteAccount() throws Exception {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 1000L);
+        transactionService.useBalance(USER_ID, account.getAccountNumber(), 1000L);
+
+        // when
+        // then
+        mockMvc.perform(delete("/account")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + USER_ID
+                                + ",\"accountNumber\":\"" + account.getAccountNumber() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value(account.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("같은 계좌, 같은 순번의 거래는 저장되지 않음 (lock 없이 동시에 쓴 거래)")
+    void duplicateLedgerSequence() {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        transactionService.useBalance(USER_ID, account.getAccountNumber(), 1000L);
+
+        // when
+        // then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertTransaction(account.getAccountNumber(), "duplicate", 1L));
+    }
+
+    private void insertTransaction(String accountNumber, String transactionId, long ledgerSequence) {
+        jdbcTemplate.update(
+                "insert into transaction (id, transaction_type, transaction_result, account_id, amount, " +
+                        "balance_snapshot, transaction_id, cancelled, ledger_sequence, transacted_at) " +
+                        "select next value for hibernate_sequence, 'USE', 'S', a.id, 1000, 9000, " +
+                        "?, false, ?, current_timestamp " +
+                        "from account a where a.account_number = ?",
+                transactionId, ledgerSequence, accountNumber);
+    }
+
+    private static BatchTransaction.Item batchUse(String accountNumber, Long amount) {
+        return BatchTransaction.Item.builder()
+                .use(new UseBalance.Request(USER_ID, accountNumber, amount))
+                .build();
+    }
+
+    @Test
+    @DisplayName("일괄 처리 중 순번 충돌 (lock 만료) - 계좌의 모든 항목을 ACCOUNT_LOCK_EXPIRED 로 실패, 거래 저장 없음")
+    void batch_ledgerSequenceTaken() {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        transactionService.useBalance(USER_ID, account.getAccountNumber(), 1000L);
+        // 일괄 처리가 잔액과 순번을 읽은 뒤, lock 이 만료된 사이 다른 요청이 순번 3 을 먼저 커밋
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            CompletableFuture.runAsync(() -> insertTransaction(account.getAccountNumber(), "taken", 3L))
+                    .join();
+            return null;
+        }).when(balanceLedger).open(any());
+
+        // when
+        List<BatchTransaction.Result> results = batchTransactionService.process(List.of(
+                batchUse(account.getAccountNumber(), 1000L),
+                batchUse(account.getAccountNumber(), 1000L),
+                batchUse(account.getAccountNumber(), 1000L)));
+
+        // then
+        assertEquals(3, results.size());
+        results.forEach(result -> {
+            assertEquals(TransactionResultType.F, result.getTransactionResult());
+            assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, result.getErrorCode());
+        });
+        assertEquals(List.of(1L, 3L), ledgerSequences(account.getAccountNumber()));
+    }
+
+    private long accountBalanceColumn(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+                "select balance from account where account_number = ?", Long.class, accountNumber);
+    }
+
+    private List<Long> ledgerSequences(String accountNumber) {
+        return jdbcTemplate.queryForList(
+                "select t.ledger_sequence from transaction t join account a on t.account_id = a.id " +
+                        "where a.account_number = ? and t.ledger_sequence is not null order by t.ledger_sequence", Long.class, accountNumber);
+    }
+
+    /**
+     * @return [체크포인트 잔액, 순번]
+     */
+    private List<Long> awaitCheckpoint(String accountNumber, long ledgerSequence) throws InterruptedException {
+        String sql = "select c.balance, c.ledger_sequence from balance_checkpoint c " +
+                "join account a on c.account_id = a.id where a.account_number = ?";
+        long deadline = System.currentTimeMillis() + 5000;
+        List<Long> checkpoint = List.of();
+        while (System.currentTimeMillis() < deadline) {
+            checkpoint = jdbcTemplate.query(sql, (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2)),
+                    accountNumber).stream().findFirst().orElse(List.of());
+            if (!checkpoint.isEmpty() && checkpoint.get(1) >= ledgerSequence) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return checkpoint;
+    }
+}
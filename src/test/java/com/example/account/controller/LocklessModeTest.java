@@ -0,0 +1,63 @@
+package com.example.account.controller;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LOCKLESS 모드 (조건부 UPDATE) 를 실제 DB 로 확인
+ * - 잔액 복구 UPDATE 가 영속성 컨텍스트를 비우므로 mock 으로는 확인할 수 없는 동작
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6393",
+        "spring.datasource.url=jdbc:h2:mem:lockless",
+        "account.transaction.execution-mode=lockless"
+})
+class LocklessModeTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("이미 취소된 거래 다시 취소 - 잔액을 다시 복구하지 않고 TRANSACTION_ALREADY_CANCELLED")
+    void cancelBalance_alreadyCancelled() {
+        // given
+        AccountDto account = accountService.createAccount(USER_ID, 10000L);
+        TransactionDto used = transactionService.useBalance(USER_ID, account.getAccountNumber(), 1000L);
+        transactionService.cancelBalance(used.getTransactionId(), account.getAccountNumber(), 1000L);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance(
+                        used.getTransactionId(), account.getAccountNumber(), 1000L));
+
+        // then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
+        assertTrue(jdbcTemplate.queryForObject(
+                "select cancelled from transaction where transaction_id = ?",
+                Boolean.class, used.getTransactionId()));
+        assertEquals(10000L, jdbcTemplate.queryForObject(
+                "select balance from account where account_number = ?",
+                Long.class, account.getAccountNumber()));
+    }
+}
@@ -2,19 +2,31 @@ package com.example.account.controller;
 
 import com.example.account.domain.Transaction;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.BatchTransaction;
 import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.TransferBalance;
+import com.example.account.dto.TransferDto;
 import com.example.account.dto.UseBalance;
+import com.example.account.service.BatchTransactionService;
+import com.example.account.service.TransactionExportService;
 import com.example.account.service.TransactionService;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExportFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDateTime;
@@ -22,16 +34,27 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
 import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
@@ -40,6 +63,12 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private BatchTransactionService batchTransactionService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -65,14 +94,18 @@ class TransactionControllerTest {
         // when
 
         // then
-        mockMvc.perform(
+        MvcResult mvcResult = mockMvc.perform(
                         post("/transaction/use")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(
                                         new UseBalance.Request(
                                                 1L, "1000000000", 10000L)
                                 ))
-                ).andDo(print())
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000000"))
                 .andExpect(jsonPath("$.transactionResult").value("S"))
@@ -96,7 +129,7 @@ class TransactionControllerTest {
 
         // when
         // then
-        mockMvc.perform(
+        MvcResult mvcResult = mockMvc.perform(
                         post("/transaction/cancel")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(
@@ -107,6 +140,10 @@ class TransactionControllerTest {
                                         )
                          ))
                 )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("100000000"))
@@ -121,12 +158,11 @@ class TransactionControllerTest {
         // given
         given(transactionService.queryTransaction(anyString()))
                 .willReturn(
-                        TransactionDto.builder()
+                        QueryTransactionResponse.builder()
                                 .accountNumber("1000000000")
                                 .transactionType(USE)
                                 .transactionResult(S)
                                 .amount(12345L)
-                                .balanceSnapshot(90000L)
                                 .transactionId("transactionId")
                                 .transactedAt(LocalDateTime.now())
                                 .build()
@@ -144,4 +180,208 @@ class TransactionControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("계좌 이체 성공")
+    void successTransferBalance() throws Exception {
+        // given
+        given(transactionService.transferBalance(anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(TransferDto.builder()
+                        .fromAccountNumber("1000000000")
+                        .toAccountNumber("1000000001")
+                        .transactionResult(S)
+                        .amount(1000L)
+                        .withdrawTransactionId("withdrawTransactionId")
+                        .depositTransactionId("depositTransactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+
+        // when
+        // then
+        MvcResult mvcResult = mockMvc.perform(
+                        post("/transaction/transfer")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new TransferBalance.Request(
+                                                1L, "1000000000", "1000000001", 1000L)
+                                ))
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.toAccountNumber").value("1000000001"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.withdrawTransactionId").value("withdrawTransactionId"))
+                .andExpect(jsonPath("$.depositTransactionId").value("depositTransactionId"));
+    }
+
+    @Test
+    @DisplayName("일괄 잔액 사용/취소 - 항목별 결과")
+    void successBatch() throws Exception {
+        // given
+        given(batchTransactionService.process(anyList()))
+                .willReturn(List.of(
+                        BatchTransaction.Result.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(USE)
+                                .transactionResult(S)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .build(),
+                        BatchTransaction.Result.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(CANCEL)
+                                .transactionResult(F)
+                                .amount(1000L)
+                                .errorCode(ErrorCode.TRANSACTION_NOT_FOUND)
+                                .build()
+                ));
+
+        // when
+        // then
+        mockMvc.perform(
+                        post("/transaction/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new BatchTransaction.Request(List.of(
+                                                BatchTransaction.Item.builder()
+                                                        .use(new UseBalance.Request(
+                                                                1L, "1000000000", 1000L))
+                                                        .build(),
+                                                BatchTransaction.Item.builder()
+                                                        .cancel(new CancelBalance.Request(
+                                                                "transactionId", "1000000000", 1000L))
+                                                        .build()
+                                        ))
+                                ))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+                .andExpect(jsonPath("$.results[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.results[1].transactionResult").value("F"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("TRANSACTION_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("일괄 잔액 사용/취소 실패 - 한 항목에 사용과 취소를 함께 요청")
+    void failBatch_bothOperations() throws Exception {
+        // given
+        // when
+        // then
+        mockMvc.perform(
+                        post("/transaction/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new BatchTransaction.Request(List.of(
+                                                BatchTransaction.Item.builder()
+                                                        .use(new UseBalance.Request(
+                                                                1L, "1000000000", 1000L))
+                                                        .cancel(new CancelBalance.Request(
+                                                                "transactionId", "1000000000", 1000L))
+                                                        .build()
+                                        ))
+                                ))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+
+        verify(batchTransactionService, never()).process(anyList());
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 - 조회 조건 전달, id 는 응답하지 않음")
+    void successTransactionHistory() throws Exception {
+        // given
+        given(transactionService.getTransactionHistory(anyString(), any()))
+                .willReturn(TransactionHistory.Response.builder()
+                        .accountNumber("1000000000")
+                        .transactions(List.of(TransactionHistoryItem.builder()
+                                .id(3L)
+                                .transactionId("transactionId")
+                                .transactionType(USE)
+                                .transactionResult(S)
+                                .amount(1000L)
+                                .balanceSnapshot(9000L)
+                                .transactedAt(LocalDateTime.now())
+                                .build()))
+                        .nextCursor("cursor")
+                        .build());
+        ArgumentCaptor<TransactionHistory.Request> captor =
+                ArgumentCaptor.forClass(TransactionHistory.Request.class);
+
+        // when
+        mockMvc.perform(get("/account/1000000000/transactions?type=USE&result=S"
+                        + "&from=2022-06-01T00:00:00&size=10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.transactions[0].cancelled").value(false))
+                .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("cursor"));
+
+        // then
+        verify(transactionService).getTransactionHistory(eq("1000000000"), captor.capture());
+        assertEquals(USE, captor.getValue().getType());
+        assertEquals(S, captor.getValue().getResult());
+        assertEquals(LocalDateTime.of(2022, 6, 1, 0, 0), captor.getValue().getFrom());
+        assertNull(captor.getValue().getTo());
+        assertEquals(10, captor.getValue().getSize());
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 실패 - 페이지 크기 초과")
+    void failTransactionHistory_sizeTooLarge() throws Exception {
+        // given
+        // when
+        // then
+        mockMvc.perform(get("/account/1000000000/transactions?size=1001"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+
+        verify(transactionService, never()).getTransactionHistory(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("거래 내보내기 - CSV 첨부 파일로 응답")
+    void successExportTransactions() throws Exception {
+        // given
+        // when
+        mockMvc.perform(get("/transaction/export?from=2022-06-01T00:00:00"
+                        + "&to=2022-07-01T00:00:00&format=CSV"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"transactions.csv\""));
+
+        // then
+        verify(transactionExportService).export(
+                eq(LocalDateTime.of(2022, 6, 1, 0, 0)),
+                eq(LocalDateTime.of(2022, 7, 1, 0, 0)),
+                eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    @DisplayName("거래 내보내기 실패 - 시작 시각이 종료 시각 이후")
+    void failExportTransactions_invalidRange() throws Exception {
+        // given
+        // when
+        // then
+        mockMvc.perform(get("/transaction/export?from=2022-07-01T00:00:00"
+                        + "&to=2022-06-01T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+
+        verify(transactionExportService, never()).export(any(), any(), any(), any());
+    }
+
+}
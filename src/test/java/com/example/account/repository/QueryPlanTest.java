@@ -0,0 +1,121 @@
+package com.example.account.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 쿼리가 full scan 이 아닌 index 를 사용하는지 H2 실행 계획(EXPLAIN)으로 확인
+ */
+@DataJpaTest
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("계좌 번호 조회 - unique index 사용")
+    void findByAccountNumber_usesUniqueIndex() {
+        // given
+        // when
+        String plan = explain("select * from account where account_number = '1000000000'");
+
+        // then
+        assertThat(plan).containsIgnoringCase("UK_ACCOUNT_ACCOUNT_NUMBER")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("거래 아이디 조회 - unique index 사용")
+    void findByTransactionId_usesUniqueIndex() {
+        // given
+        // when
+        String plan = explain("select * from transaction "
+                + "where transaction_id = 'c2033bb6d82a4250aecf8e27c49b63f6'");
+
+        // then
+        assertThat(plan).containsIgnoringCase("UK_TRANSACTION_TRANSACTION_ID")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("계좌별 거래 내역 조회 - (account_id, transacted_at) index 사용")
+    void transactionHistory_usesCompositeIndex() {
+        // given
+        // when
+        String plan = explain("select * from transaction "
+                + "where account_id = 1 and transacted_at >= '2022-01-01 00:00:00' "
+                + "order by transacted_at desc");
+
+        // then
+        assertThat(plan).containsIgnoringCase("IDX_TRANSACTION_ACCOUNT_TRANSACTED_AT")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("계좌별 거래 내역 keyset 페이지 - cursor 이전 범위만 index 로 조회")
+    void transactionHistoryPage_usesCompositeIndexSorted() {
+        // given
+        // when
+        String plan = explain("select * from transaction "
+                + "where account_id = 1 "
+                + "and transacted_at >= '2022-01-01 00:00:00' and transacted_at <= '2022-07-01 00:00:00' "
+                + "and (transacted_at < '2022-07-01 00:00:00' or id < 100) "
+                + "order by transacted_at desc, id desc limit 101");
+
+        // then
+        assertThat(plan).containsIgnoringCase("IDX_TRANSACTION_ACCOUNT_TRANSACTED_AT")
+                .containsIgnoringCase("TRANSACTED_AT <= TIMESTAMP '2022-07-01 00:00:00'")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("기간별 거래 내보내기 - transacted_at index 사용")
+    void export_usesTransactedAtIndex() {
+        // given
+        // when
+        String plan = explain("select t.transaction_id, a.account_number, t.amount, t.transacted_at "
+                + "from transaction t join account a on a.id = t.account_id "
+                + "where t.transacted_at >= '2022-01-01 00:00:00' and t.transacted_at < '2022-01-02 00:00:00'");
+
+        // then
+        assertThat(plan).containsIgnoringCase("IDX_TRANSACTION_TRANSACTED_AT")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후 거래 합계 - (account_id, ledger_sequence) unique index 사용")
+    void ledgerDelta_usesLedgerSequenceIndex() {
+        // given
+        // when
+        String plan = explain("select sum(amount), max(ledger_sequence) from transaction "
+                + "where account_id = 1 and ledger_sequence > 10");
+
+        // then
+        assertThat(plan).containsIgnoringCase("UK_TRANSACTION_ACCOUNT_LEDGER_SEQUENCE")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("계좌 번호, 거래 아이디 - unique index")
+    void uniqueIndexes() {
+        // given
+        // when
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes "
+                        + "where non_unique = false and ("
+                        + "index_name like 'UK_ACCOUNT_ACCOUNT_NUMBER%' "
+                        + "or index_name like 'UK_TRANSACTION_TRANSACTION_ID%')", Integer.class);
+
+        // then
+        assertThat(count).isEqualTo(2);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountActorExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TransactionProperties transactionProperties = new TransactionProperties();
+
+    private final List<TransactionStatus> statuses = new CopyOnWriteArrayList<>();
+
+    private AccountActorExecutor accountActorExecutor;
+
+    @BeforeEach
+    void setUp() {
+        transactionProperties.setExecutionMode(ExecutionMode.ACTOR);
+        transactionProperties.getActor().setWorkerThreads(2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accountActorExecutor.stop();
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 대기 요청은 요청 순서대로 하나의 트랜잭션에서 처리")
+    void execute_coalesce() throws InterruptedException {
+        // given
+        start();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Integer> first = accountActorExecutor.execute("1000000000", () -> {
+            started.countDown();
+            await(release);
+            order.add(0);
+            return CompletableFuture.completedFuture(0);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // when
+        List<CompletableFuture<Integer>> queued = List.of(
+                submit("1000000000", 1, order),
+                submit("1000000000", 2, order),
+                submit("1000000000", 3, order));
+        release.countDown();
+
+        // then
+        assertEquals(0, first.join());
+        assertEquals(List.of(1, 2, 3), List.of(
+                queued.get(0).join(), queued.get(1).join(), queued.get(2).join()));
+        assertEquals(List.of(0, 1, 2, 3), order);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("업무 실패는 해당 요청만 실패 - 같은 트랜잭션의 다른 요청은 커밋")
+    void execute_accountExceptionInRun() throws InterruptedException {
+        // given
+        start();
+        CountDownLatch release = blockAccount("1000000000");
+
+        // when
+        CompletableFuture<Integer> success = submit("1000000000", 1, new CopyOnWriteArrayList<>());
+        CompletableFuture<Integer> failed = accountActorExecutor.execute("1000000000",
+                () -> CompletableFuture.failedFuture(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE)));
+        CompletableFuture<Integer> next = submit("1000000000", 3, new CopyOnWriteArrayList<>());
+        release.countDown();
+
+        // then
+        assertEquals(1, success.join());
+        CompletionException exception = assertThrows(CompletionException.class, failed::join);
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) exception.getCause()).getErrorCode());
+        assertEquals(3, next.join());
+        verify(transactionManager, times(2)).getTransaction(any());
+        assertFalse(statuses.get(1).isRollbackOnly());
+    }
+
+    @Test
+    @DisplayName("예상하지 못한 예외 - rollback 후 앞서 성공한 요청은 단독으로 다시 실행")
+    void execute_unexpectedExceptionInRun() throws InterruptedException {
+        // given
+        start();
+        CountDownLatch release = blockAccount("1000000000");
+        AtomicInteger firstInvocations = new AtomicInteger();
+
+        // when
+        CompletableFuture<Integer> success = accountActorExecutor.execute("1000000000", () -> {
+            firstInvocations.incrementAndGet();
+            return CompletableFuture.completedFuture(1);
+        });
+        CompletableFuture<Integer> failed = accountActorExecutor.execute("1000000000", () -> {
+            throw new IllegalStateException("db error");
+        });
+        CompletableFuture<Integer> next = submit("1000000000", 3, new CopyOnWriteArrayList<>());
+        release.countDown();
+
+        // then
+        assertEquals(1, success.join());
+        assertEquals(2, firstInvocations.get());
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(3, next.join());
+        assertTrue(statuses.get(1).isRollbackOnly());
+    }
+
+    @Test
+    @DisplayName("계좌 queue 가 가득 찬 경우 실패")
+    void execute_queueFull() throws InterruptedException {
+        // given
+        transactionProperties.getActor().setQueueCapacity(1);
+        start();
+        CountDownLatch release = blockAccount("1000000000");
+        submit("1000000000", 1, new CopyOnWriteArrayList<>());
+
+        // when
+        CompletableFuture<Integer> rejected = submit("1000000000", 2, new CopyOnWriteArrayList<>());
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("요청이 없는 계좌의 queue 제거")
+    void evictIdle() throws InterruptedException {
+        // given
+        transactionProperties.getActor().setIdleTimeout(Duration.ZERO);
+        start();
+        submit("1000000000", 1, new CopyOnWriteArrayList<>()).join();
+        submit("2000000000", 2, new CopyOnWriteArrayList<>()).join();
+
+        // when
+        // 결과 완료 직후에는 worker 가 아직 queue 를 놓지 않았을 수 있다.
+        long deadline = System.currentTimeMillis() + 1000;
+        while (accountActorExecutor.actorCount() > 0 && System.currentTimeMillis() < deadline) {
+            accountActorExecutor.evictIdle();
+            Thread.sleep(10);
+        }
+
+        // then
+        assertEquals(0, accountActorExecutor.actorCount());
+    }
+
+    @Test
+    @DisplayName("ACTOR 모드가 아니면 비활성")
+    void disabled_whenNotActorMode() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCK);
+
+        // when
+        accountActorExecutor = new AccountActorExecutor(transactionManager, transactionProperties);
+        accountActorExecutor.start();
+
+        // then
+        assertFalse(accountActorExecutor.isEnabled());
+    }
+
+    private void start() {
+        given(transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            TransactionStatus status = new SimpleTransactionStatus();
+            statuses.add(status);
+            return status;
+        });
+        accountActorExecutor = new AccountActorExecutor(transactionManager, transactionProperties);
+        accountActorExecutor.start();
+    }
+
+    private CountDownLatch blockAccount(String accountNumber) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        accountActorExecutor.execute(accountNumber, () -> {
+            started.countDown();
+            await(release);
+            return CompletableFuture.completedFuture(0);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private CompletableFuture<Integer> submit(String accountNumber, int value, List<Integer> order) {
+        return accountActorExecutor.execute(accountNumber, () -> {
+            order.add(value);
+            return CompletableFuture.completedFuture(value);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountNumberAllocatorTest {
+
+    @Test
+    @DisplayName("계좌 처음 생성")
+    void allocateFirstNumber() {
+        // given
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                blockSize -> 0L, 1000, false);
+
+        // when
+        // then
+        assertEquals("1000000000", allocator.allocate());
+        assertEquals("1000000001", allocator.allocate());
+    }
+
+    @Test
+    @DisplayName("블록을 다 쓰면 다음 블록을 예약")
+    void reserveNextBlock() {
+        // given
+        AtomicInteger reserveCount = new AtomicInteger();
+        AtomicLong offset = new AtomicLong();
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                blockSize -> {
+                    reserveCount.incrementAndGet();
+                    return offset.getAndAdd(blockSize);
+                }, 2, false);
+
+        // when
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            numbers.add(allocator.allocate());
+        }
+
+        // then
+        assertEquals(List.of("1000000000", "1000000001", "1000000002",
+                "1000000003", "1000000004"), numbers);
+        assertEquals(3, reserveCount.get());
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 중복 없음")
+    void allocateConcurrentlyWithoutDuplicates() throws Exception {
+        // given
+        AtomicLong offset = new AtomicLong();
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                blockSize -> offset.getAndAdd(blockSize), 100, false);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    numbers.add(allocator.allocate());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(8000, numbers.size());
+    }
+
+    @Test
+    @DisplayName("검증 숫자 포함 10자리")
+    void allocateWithCheckDigit() {
+        // given
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                blockSize -> 0L, 1000, true);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            String number = allocator.allocate();
+
+            // then
+            assertEquals(10, number.length());
+            assertTrue(isLuhnValid(number));
+        }
+    }
+
+    @Test
+    @DisplayName("발급 가능한 번호 없음")
+    void allocateFailed_Exhausted() {
+        // given
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                blockSize -> 9_000_000_000L, 1000, false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                allocator::allocate);
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED, exception.getErrorCode());
+    }
+
+    private static boolean isLuhnValid(String number) {
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+}
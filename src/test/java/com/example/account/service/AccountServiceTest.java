@@ -1,19 +1,23 @@
 package com.example.account.service;
 
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +26,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -34,6 +40,18 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountCacheEvictor accountCacheEvictor;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Mock
+    private BalanceLedger balanceLedger;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -45,43 +63,14 @@ class AccountServiceTest {
                 .name("Pobi").build();
         user.setId(12L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1000000012").build()));
+        given(accountUserRepository.getById(anyLong()))
+                .willReturn(user);
 
-        given(accountRepository.save(any()))
-                .willReturn(Account.builder()
-                        .accountUser(user)
-                        .accountNumber("1000000015").build());
-
-        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
-
-        // when
-        AccountDto accountDto = accountService.createAccount(1L, 10000L);
-
-        // then
-        verify(accountRepository, times(1)).save(captor.capture());
-        assertEquals(12L, accountDto.getUserId());
-        assertEquals("1000000013", captor.getValue().getAccountNumber());
-
-    }
-
-    @Test
-    @DisplayName("계좌 처음 생성")
-    void createAccountFirstSuccess() {
-        // given
-        AccountUser user = AccountUser.builder()
-                .name("Pobi").build();
-        user.setId(12L);
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty());
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000013");
 
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
@@ -95,8 +84,9 @@ class AccountServiceTest {
 
         // then
         verify(accountRepository, times(1)).save(captor.capture());
+        verify(accountCacheEvictor, times(1)).evictAccounts(1L);
         assertEquals(12L, accountDto.getUserId());
-        assertEquals("1000000000", captor.getValue().getAccountNumber());
+        assertEquals("1000000013", captor.getValue().getAccountNumber());
 
     }
 
@@ -104,8 +94,8 @@ class AccountServiceTest {
     @DisplayName("해당 유저 없음 - 계좌 생성 실패")
     void createAccountFailed_UserNotFound() {
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
@@ -123,8 +113,11 @@ class AccountServiceTest {
                 .name("Pobi").build();
         user.setId(12L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        given(accountUserRepository.getById(anyLong()))
+                .willReturn(user);
 
         given(accountRepository.countByAccountUser(any()))
                 .willReturn(10);
@@ -154,8 +147,8 @@ class AccountServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -167,6 +160,7 @@ class AccountServiceTest {
 
         // then
         verify(accountRepository, times(1)).save(captor.capture());
+        verify(accountCacheEvictor, times(1)).evictAccounts(12L);
         assertEquals(12L, captor.getValue().getAccountUser().getId());
         assertEquals("1000000012", captor.getValue().getAccountNumber());
         assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());
@@ -177,8 +171,8 @@ class AccountServiceTest {
     @DisplayName("해당 유저 없음 - 계좌 해지 실패")
     void deleteAccountFailed_UserNotFound() {
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
@@ -196,8 +190,8 @@ class AccountServiceTest {
                 .name("Pobi").build();
         user.setId(12L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -229,8 +223,8 @@ class AccountServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -259,8 +253,8 @@ class AccountServiceTest {
                 .accountStatus(AccountStatus.UNREGISTERED)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -289,8 +283,8 @@ class AccountServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -304,47 +298,71 @@ class AccountServiceTest {
 
     }
 
+    @Test
+    @DisplayName("LEDGER 모드 - 계좌 잔액 컬럼이 0 이어도 ledger 잔액이 있으면 계좌 해지 실패")
+    void deleteAccountFailed_LedgerBalanceNotEmpty() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LEDGER);
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000012")
+                .balance(0L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        willAnswer(invocation -> {
+            account.openLedger(500L, 3L);
+            return null;
+        }).given(balanceLedger).open(account);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.deleteAccount(12L, "1000000012"));
+
+        // then
+        assertEquals(ErrorCode.BALANCE_NOT_EMPTY, exception.getErrorCode());
+        verify(accountRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("계좌 확인 성공")
     void getAccountByUserIdSuccess() {
 
-        AccountUser user = AccountUser.builder().build();
-        AccountUser userA = AccountUser.builder().build();
-        AccountUser userB = AccountUser.builder().build();
-        AccountUser userC = AccountUser.builder().build();
-
-        user.setId(12L);
-        userA.setId(2L);
-        userB.setId(3L);
-        userC.setId(4L);
-
-        List<Account> accounts = Arrays.asList(
-                Account.builder().accountUser(userA)
-                        .accountNumber("1000000001").build(),
-                Account.builder().accountUser(userB)
-                        .accountNumber("1000000002").build(),
-                Account.builder().accountUser(userC)
-                        .accountNumber("1000000003").build()
+        List<AccountInfo> accountInfos = Arrays.asList(
+                AccountInfo.builder().accountNumber("1000000001").balance(1000L).build(),
+                AccountInfo.builder().accountNumber("1000000002").balance(2000L).build(),
+                AccountInfo.builder().accountNumber("1000000003").balance(3000L).build()
         );
 
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
-        given(accountRepository.findByAccountUser(any()))
-                .willReturn(accounts);
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
+                .willReturn(accountInfos);
 
         // when
-        List<AccountDto> accountDtos = accountService.getAccountByUserId(12L);
+        List<AccountInfo> result = accountService.getAccountByUserId(12L);
 
         // then
-        assertEquals(accountDtos.size(), 3);
-        assertEquals(2L, accountDtos.get(0).getUserId());
-        assertEquals("1000000001", accountDtos.get(0).getAccountNumber());
-        assertEquals(3L, accountDtos.get(1).getUserId());
-        assertEquals("1000000002", accountDtos.get(1).getAccountNumber());
-        assertEquals(4L, accountDtos.get(2).getUserId());
-        assertEquals("1000000003", accountDtos.get(2).getAccountNumber());
+        verify(accountRepository, times(1)).findAccountInfosByUserId(12L);
+        verify(accountRepository, never()).findByAccountUser(any());
+        assertEquals(3, result.size());
+        assertEquals("1000000001", result.get(0).getAccountNumber());
+        assertEquals(1000L, result.get(0).getBalance());
+        assertEquals("1000000002", result.get(1).getAccountNumber());
+        assertEquals("1000000003", result.get(2).getAccountNumber());
+        assertEquals(3000L, result.get(2).getBalance());
 
     }
 
@@ -353,8 +371,8 @@ class AccountServiceTest {
     void getAccountByUserIdFailed_UserNotFound() {
 
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
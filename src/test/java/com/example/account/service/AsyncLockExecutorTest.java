@@ -0,0 +1,157 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncLockExecutorTest {
+
+    private static final LockOptions OPTIONS = LockOptions.builder()
+            .waitMillis(1000L)
+            .leaseMillis(15000L)
+            .build();
+
+    @Mock
+    private LockService lockService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncLockExecutor asyncLockExecutor;
+
+    @BeforeEach
+    void setUp() {
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.getAsync().setEnabled(true);
+        lockProperties.getAsync().setWorkerThreads(2);
+        given(lockService.supportsAsync()).willReturn(true);
+
+        asyncLockExecutor = new AsyncLockExecutor(lockService, lockProperties,
+                new LockMetrics(meterRegistry));
+        asyncLockExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncLockExecutor.stop();
+    }
+
+    @Test
+    @DisplayName("lock 획득 후 worker 스레드에서 fencing token 과 함께 실행, 완료 후 같은 ownerId 로 해제")
+    void execute() {
+        // given
+        given(lockService.lockAsync(eq("1000000000"), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(42L));
+        given(lockService.unlockAsync(eq("1000000000"), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(null));
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        // when
+        Long fencingToken = asyncLockExecutor.<Long>execute("1000000000", OPTIONS, () -> {
+            threadName.set(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(AccountLockContext.getFencingToken());
+        }).join();
+
+        // then
+        assertEquals(42L, fencingToken);
+        assertTrue(threadName.get().startsWith("account-lock-worker-"));
+        assertEquals(1L, meterRegistry.timer("account.lock.wait",
+                "type", "single", "outcome", "acquired").count());
+        assertEquals(1L, meterRegistry.timer("account.lock.held", "type", "single").count());
+
+        InOrder inOrder = inOrder(lockService);
+        inOrder.verify(lockService).lockAsync(eq("1000000000"), anyLong(), eq(OPTIONS));
+        inOrder.verify(lockService).unlockAsync(eq("1000000000"), anyLong(), eq(OPTIONS));
+    }
+
+    @Test
+    @DisplayName("lock 획득 실패 - 본문을 실행하지 않고 해제하지 않음")
+    void execute_lockFailed() {
+        // given
+        given(lockService.lockAsync(anyString(), anyLong(), any()))
+                .willReturn(CompletableFuture.failedFuture(
+                        new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> asyncLockExecutor.execute("1000000000", OPTIONS,
+                        () -> fail("must not run")).join());
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(lockService, never()).unlockAsync(anyString(), anyLong(), any());
+        assertEquals(1.0, meterRegistry.counter("account.lock.failures",
+                "type", "single", "reason", "ACCOUNT_TRANSACTION_LOCK").count());
+    }
+
+    @Test
+    @DisplayName("본문 실패 - lock 해제 후 예외 전달")
+    void execute_bodyFailed() {
+        // given
+        given(lockService.lockAsync(anyString(), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(42L));
+        given(lockService.unlockAsync(anyString(), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> asyncLockExecutor.execute("1000000000", OPTIONS, () -> {
+                    throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+                }).join());
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(lockService).unlockAsync(eq("1000000000"), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("여러 계좌 - 계좌별 fencing token")
+    void executeAll() {
+        // given
+        List<String> accountNumbers = List.of("2000000000", "1000000000");
+        given(lockService.lockAllAsync(eq(accountNumbers), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(
+                        Map.of("1000000000", 5L, "2000000000", 8L)));
+        given(lockService.unlockAllAsync(eq(accountNumbers), anyLong(), any()))
+                .willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        List<Long> fencingTokens = asyncLockExecutor.<List<Long>>executeAll(accountNumbers, OPTIONS,
+                () -> CompletableFuture.completedFuture(List.of(
+                        AccountLockContext.getFencingToken("1000000000"),
+                        AccountLockContext.getFencingToken("2000000000")))).join();
+
+        // then
+        assertEquals(List.of(5L, 8L), fencingTokens);
+        verify(lockService).unlockAllAsync(eq(accountNumbers), anyLong(), any());
+    }
+}
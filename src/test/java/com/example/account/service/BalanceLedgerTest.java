@@ -0,0 +1,166 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.domain.Account;
+import com.example.account.domain.BalanceCheckpoint;
+import com.example.account.dto.LedgerDelta;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.BalanceCheckpointRepository;
+import com.example.account.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerTest {
+
+    @Mock
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceLedger balanceLedger;
+
+    @BeforeEach
+    void setUp() {
+        balanceLedger = new BalanceLedger(balanceCheckpointRepository, transactionRepository,
+                accountRepository, transactionManager, new TransactionProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("체크포인트 없음 - 계좌 잔액과 순번 0 에서 이후 거래 합계")
+    void open_withoutCheckpoint() {
+        // given
+        Account account = account(10000L);
+        given(balanceCheckpointRepository.findByAccountId(1L))
+                .willReturn(Optional.empty());
+        given(transactionRepository.findLedgerDelta(1L, 0L))
+                .willReturn(new LedgerDelta(-300L, 3L));
+
+        // when
+        balanceLedger.open(account);
+
+        // then
+        assertEquals(9700L, account.getBalance());
+        assertEquals(4L, account.nextLedgerSequence());
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후 거래 없음 - 체크포인트 잔액, 다음 순번은 체크포인트 순번 + 1")
+    void open_checkpointOnly() {
+        // given
+        Account account = account(10000L);
+        given(balanceCheckpointRepository.findByAccountId(1L))
+                .willReturn(Optional.of(checkpoint(account, 5000L, 10L)));
+        given(transactionRepository.findLedgerDelta(1L, 10L))
+                .willReturn(new LedgerDelta(null, null));
+
+        // when
+        balanceLedger.open(account);
+
+        // then
+        assertEquals(5000L, account.getBalance());
+        assertEquals(11L, account.nextLedgerSequence());
+    }
+
+    @Test
+    @DisplayName("체크포인트 기록 - 이후 거래를 더해 마지막 순번으로 옮김")
+    void checkpoint_advance() {
+        // given
+        Account account = account(10000L);
+        given(balanceCheckpointRepository.findByAccountId(1L))
+                .willReturn(Optional.of(checkpoint(account, 5000L, 10L)));
+        given(transactionRepository.findLedgerDelta(1L, 10L))
+                .willReturn(new LedgerDelta(-200L, 12L));
+
+        // when
+        boolean written = balanceLedger.checkpoint(1L);
+
+        // then
+        assertTrue(written);
+        verify(balanceCheckpointRepository).advance(1L, 4800L, 12L);
+        verify(balanceCheckpointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("첫 체크포인트 - 계좌 잔액 + 거래 합계로 저장")
+    void checkpoint_first() {
+        // given
+        Account account = account(10000L);
+        given(balanceCheckpointRepository.findByAccountId(1L))
+                .willReturn(Optional.empty());
+        given(transactionRepository.findLedgerDelta(1L, 0L))
+                .willReturn(new LedgerDelta(-1000L, 2L));
+        given(accountRepository.getById(1L))
+                .willReturn(account);
+        ArgumentCaptor<BalanceCheckpoint> captor = ArgumentCaptor.forClass(BalanceCheckpoint.class);
+
+        // when
+        boolean written = balanceLedger.checkpoint(1L);
+
+        // then
+        assertTrue(written);
+        verify(balanceCheckpointRepository).save(captor.capture());
+        assertEquals(9000L, captor.getValue().getBalance());
+        assertEquals(2L, captor.getValue().getLedgerSequence());
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후 거래 없음 - 기록하지 않음")
+    void checkpoint_nothingToWrite() {
+        // given
+        given(balanceCheckpointRepository.findByAccountId(1L))
+                .willReturn(Optional.empty());
+        given(transactionRepository.findLedgerDelta(1L, 0L))
+                .willReturn(new LedgerDelta(null, null));
+
+        // when
+        boolean written = balanceLedger.checkpoint(1L);
+
+        // then
+        assertFalse(written);
+        verify(balanceCheckpointRepository, never()).advance(anyLong(), anyLong(), anyLong());
+        verify(balanceCheckpointRepository, never()).save(any());
+    }
+
+    private static Account account(Long balance) {
+        Account account = Account.builder()
+                .accountNumber("1000000012")
+                .balance(balance)
+                .build();
+        account.setId(1L);
+        return account;
+    }
+
+    private static BalanceCheckpoint checkpoint(Account account, Long balance, Long ledgerSequence) {
+        return BalanceCheckpoint.builder()
+                .account(account)
+                .balance(balance)
+                .ledgerSequence(ledgerSequence)
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransactionServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @InjectMocks
+    private BatchTransactionService batchTransactionService;
+
+    @Captor
+    private ArgumentCaptor<List<BatchTransaction.Item>> captor;
+
+    @Test
+    @DisplayName("계좌별로 lock 한 번, 트랜잭션 한 번 - 결과는 요청 순서")
+    void process() {
+        // given
+        List<BatchTransaction.Item> items = List.of(
+                use("1000000000", 100L),
+                use("2000000000", 200L),
+                cancel("1000000000", 300L),
+                use("1000000000", 400L));
+
+        given(transactionService.applyBatch(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    List<BatchTransaction.Item> group = invocation.getArgument(1);
+                    return group.stream()
+                            .map(item -> BatchTransaction.Result.builder()
+                                    .accountNumber(item.getAccountNumber())
+                                    .transactionType(item.getTransactionType())
+                                    .transactionResult(S)
+                                    .amount(item.getAmount())
+                                    .build())
+                            .collect(Collectors.toList());
+                });
+
+        // when
+        List<BatchTransaction.Result> results = batchTransactionService.process(items);
+
+        // then
+        verify(lockService, times(1)).lock(eq("1000000000"), any());
+        verify(lockService, times(1)).lock(eq("2000000000"), any());
+        verify(lockService, times(2)).unlock(anyString(), any());
+
+        verify(transactionService).applyBatch(eq("1000000000"), captor.capture());
+        assertEquals(List.of(100L, 300L, 400L), captor.getValue().stream()
+                .map(BatchTransaction.Item::getAmount).collect(Collectors.toList()));
+
+        assertEquals(List.of(100L, 200L, 300L, 400L), results.stream()
+                .map(BatchTransaction.Result::getAmount).collect(Collectors.toList()));
+        assertEquals(CANCEL, results.get(2).getTransactionType());
+    }
+
+    @Test
+    @DisplayName("lock 획득 실패 - 해당 계좌의 항목만 모두 실패, 실패 거래 기록")
+    void process_lockFailed() {
+        // given
+        List<BatchTransaction.Item> items = List.of(
+                use("1000000000", 100L),
+                cancel("1000000000", 300L),
+                use("2000000000", 200L));
+
+        given(lockService.lock(eq("1000000000"), any()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        given(transactionService.applyBatch(eq("2000000000"), anyList()))
+                .willReturn(List.of(BatchTransaction.Result.builder()
+                        .accountNumber("2000000000")
+                        .transactionType(USE)
+                        .transactionResult(S)
+                        .amount(200L)
+                        .build()));
+
+        // when
+        List<BatchTransaction.Result> results = batchTransactionService.process(items);
+
+        // then
+        assertEquals(F, results.get(0).getTransactionResult());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(F, results.get(1).getTransactionResult());
+        assertEquals(CANCEL, results.get(1).getTransactionType());
+        assertEquals(S, results.get(2).getTransactionResult());
+
+        verify(transactionService, never()).applyBatch(eq("1000000000"), anyList());
+        verify(transactionService).saveFailedUseTransaction("1000000000", 100L);
+        verify(transactionService).saveFailedCancelTransaction("1000000000", 300L);
+        verify(lockService, never()).unlock(eq("1000000000"), any());
+    }
+
+    @Test
+    @DisplayName("계좌 처리 실패 - lock 해제 후 항목 모두 실패")
+    void process_applyFailed() {
+        // given
+        List<BatchTransaction.Item> items = List.of(use("1000000000", 100L));
+
+        given(transactionService.applyBatch(anyString(), anyList()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        // when
+        List<BatchTransaction.Result> results = batchTransactionService.process(items);
+
+        // then
+        assertEquals(F, results.get(0).getTransactionResult());
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(0).getErrorCode());
+
+        InOrder inOrder = inOrder(lockService, transactionService);
+        inOrder.verify(lockService).lock(eq("1000000000"), any());
+        inOrder.verify(transactionService).applyBatch(eq("1000000000"), anyList());
+        inOrder.verify(lockService).unlock(eq("1000000000"), any());
+        inOrder.verify(transactionService).saveFailedUseTransaction("1000000000", 100L);
+    }
+
+    @Test
+    @DisplayName("예상하지 못한 오류 - 해당 계좌만 실패, 먼저 처리된 계좌의 결과는 유지")
+    void process_unexpectedFailure() {
+        // given
+        List<BatchTransaction.Item> items = List.of(
+                use("1000000000", 100L),
+                use("2000000000", 200L));
+
+        given(transactionService.applyBatch(eq("1000000000"), anyList()))
+                .willReturn(List.of(BatchTransaction.Result.builder()
+                        .accountNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResult(S)
+                        .amount(100L)
+                        .build()));
+        given(transactionService.applyBatch(eq("2000000000"), anyList()))
+                .willThrow(new DataIntegrityViolationException("constraint"));
+
+        // when
+        List<BatchTransaction.Result> results = batchTransactionService.process(items);
+
+        // then
+        assertEquals(S, results.get(0).getTransactionResult());
+        assertEquals(F, results.get(1).getTransactionResult());
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, results.get(1).getErrorCode());
+        verify(lockService).unlock(eq("2000000000"), any());
+        verify(transactionService).saveFailedUseTransaction("2000000000", 200L);
+        verify(transactionService, never()).saveFailedUseTransaction(eq("1000000000"), anyLong());
+    }
+
+    @Test
+    @DisplayName("LOCKLESS 모드 - 계좌 lock 없이 처리")
+    void process_lockless() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+        List<BatchTransaction.Item> items = List.of(use("1000000000", 100L));
+
+        given(transactionService.applyBatch(anyString(), anyList()))
+                .willReturn(List.of(BatchTransaction.Result.builder()
+                        .transactionResult(S)
+                        .build()));
+
+        // when
+        batchTransactionService.process(items);
+
+        // then
+        verify(lockService, never()).lock(anyString(), any());
+        verify(transactionService).applyBatch(eq("1000000000"), anyList());
+    }
+
+    private static BatchTransaction.Item use(String accountNumber, Long amount) {
+        return BatchTransaction.Item.builder()
+                .use(new UseBalance.Request(1L, accountNumber, amount))
+                .build();
+    }
+
+    private static BatchTransaction.Item cancel(String accountNumber, Long amount) {
+        return BatchTransaction.Item.builder()
+                .cancel(new CancelBalance.Request("transactionId", accountNumber, amount))
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionIdGenerator transactionIdGenerator = new TimeOrderedTransactionIdGenerator(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Captor
+    private ArgumentCaptor<Collection<FailedTransactionWriter.FailedTransaction>> captor;
+
+    @BeforeEach
+    void setUp() {
+        transactionProperties.getFailedRecord().setFlushInterval(Duration.ofMillis(20));
+        transactionProperties.getFailedRecord().setOfferTimeout(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("실패 거래 기록 - 백그라운드에서 batch insert")
+    void enqueueAndWrite() throws InterruptedException {
+        // given
+        FailedTransactionWriter writer = new FailedTransactionWriter(
+                jdbcTemplate, transactionIdGenerator, transactionProperties, meterRegistry);
+        writer.start();
+
+        // when
+        boolean queued = writer.enqueue(USE, "1000000000", 1000L);
+
+        // then
+        assertTrue(queued);
+        verify(jdbcTemplate, timeout(1000).times(1)).batchUpdate(
+                eq(FailedTransactionWriter.INSERT_SQL), anyCollection(), eq(1),
+                anySetter());
+        writer.stop();
+        assertEquals(1.0, count("written"));
+    }
+
+    @Test
+    @DisplayName("종료 시 queue 에 남은 기록을 batch 크기로 나누어 저장")
+    void flushOnStop() throws InterruptedException {
+        // given
+        transactionProperties.getFailedRecord().setBatchSize(2);
+        FailedTransactionWriter writer = new FailedTransactionWriter(
+                jdbcTemplate, transactionIdGenerator, transactionProperties, meterRegistry);
+        writer.enqueue(USE, "1000000000", 1000L);
+        writer.enqueue(CANCEL, "1000000000", 1000L);
+        writer.enqueue(USE, "1000000001", 2000L);
+
+        // when
+        writer.start();
+        writer.stop();
+
+        // then
+        verify(jdbcTemplate, times(2)).batchUpdate(
+                eq(FailedTransactionWriter.INSERT_SQL), captor.capture(), anyInt(),
+                anySetter());
+        List<Collection<FailedTransactionWriter.FailedTransaction>> batches = captor.getAllValues();
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        assertEquals(0, writer.queueSize());
+        assertEquals(3.0, count("written"));
+    }
+
+    @Test
+    @DisplayName("queue 가 가득 찬 경우 기록을 버리고 유실 건수 집계")
+    void dropWhenQueueFull() {
+        // given
+        transactionProperties.getFailedRecord().setQueueCapacity(1);
+        FailedTransactionWriter writer = new FailedTransactionWriter(
+                jdbcTemplate, transactionIdGenerator, transactionProperties, meterRegistry);
+        writer.enqueue(USE, "1000000000", 1000L);
+
+        // when
+        boolean queued = writer.enqueue(USE, "1000000000", 2000L);
+
+        // then
+        assertFalse(queued);
+        assertEquals(1, writer.queueSize());
+        assertEquals(1.0, count("dropped"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+                anySetter());
+    }
+
+    @Test
+    @DisplayName("batch insert 실패 - 예외를 전파하지 않고 실패 건수 집계")
+    void writeFailed() {
+        // given
+        FailedTransactionWriter writer = new FailedTransactionWriter(
+                jdbcTemplate, transactionIdGenerator, transactionProperties, meterRegistry);
+        given(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                anySetter()))
+                .willThrow(new DataAccessResourceFailureException("db down"));
+
+        // when
+        writer.write(List.of(
+                new FailedTransactionWriter.FailedTransaction(
+                        USE, "1000000000", 1000L, "transactionId", LocalDateTime.now())));
+
+        // then
+        assertEquals(1.0, count("error"));
+        assertEquals(0.0, count("written"));
+    }
+
+    @Test
+    @DisplayName("종료 이후 들어온 기록 - queue 에 남기지 않고 바로 저장")
+    void writeDirectlyAfterStop() throws InterruptedException {
+        // given
+        FailedTransactionWriter writer = new FailedTransactionWriter(
+                jdbcTemplate, transactionIdGenerator, transactionProperties, meterRegistry);
+        writer.start();
+        writer.stop();
+
+        // when
+        boolean queued = writer.enqueue(USE, "1000000000", 1000L);
+
+        // then
+        assertTrue(queued);
+        assertEquals(0, writer.queueSize());
+        verify(jdbcTemplate, times(1)).batchUpdate(
+                eq(FailedTransactionWriter.INSERT_SQL), captor.capture(), eq(1), anySetter());
+        assertEquals(1.0, count("written"));
+    }
+
+    private static ParameterizedPreparedStatementSetter<FailedTransactionWriter.FailedTransaction> anySetter() {
+        return any();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("account.transaction.failed.records", "result", result).count();
+    }
+}
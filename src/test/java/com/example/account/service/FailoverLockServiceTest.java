@@ -0,0 +1,207 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.LockFailurePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailoverLockServiceTest {
+
+    private static final LockOptions OPTIONS = LockOptions.builder()
+            .waitMillis(100L)
+            .leaseMillis(15000L)
+            .build();
+
+    @Mock
+    private LockService primary;
+
+    @Mock
+    private LocalLockService localLockService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LockCircuitBreaker circuitBreaker =
+            new LockCircuitBreaker(2, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("정상 - Redis lock 의 fencing token")
+    void lock() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.LOCAL);
+        given(primary.lock("1000000000", OPTIONS)).willReturn(7L);
+
+        // when
+        long fencingToken = lockService.lock("1000000000", OPTIONS);
+        lockService.unlock("1000000000", OPTIONS);
+
+        // then
+        assertEquals(7L, fencingToken);
+        verify(primary).unlock("1000000000", OPTIONS);
+        verify(localLockService, never()).lock(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("대기 시간 초과는 Redis 장애가 아님 - circuit 유지, 대체하지 않음")
+    void lock_timeout() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.LOCAL);
+        given(primary.lock(anyString(), any()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> lockService.lock("1000000000", OPTIONS));
+            assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        }
+
+        // then
+        assertEquals(LockCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(localLockService, never()).lock(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("FAIL_CLOSED - Redis 오류가 반복되면 circuit 이 열리고 Redis 를 호출하지 않음")
+    void failClosed_circuitOpen() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.FAIL_CLOSED);
+        given(primary.lock(anyString(), any()))
+                .willThrow(new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> lockService.lock("1000000000", OPTIONS));
+            assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE, exception.getErrorCode());
+        }
+
+        // then
+        verify(primary, times(2)).lock(anyString(), any());
+        assertEquals(LockCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("LOCAL - 로컬 lock 으로 대체, 해제 시 Redis 를 호출하지 않음")
+    void local_fallback() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.LOCAL);
+        given(primary.lock(anyString(), any()))
+                .willThrow(new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+
+        // when
+        long fencingToken = lockService.lock("1000000000", OPTIONS);
+        lockService.unlock("1000000000", OPTIONS);
+
+        // then
+        assertEquals(LockService.NO_FENCING_TOKEN, fencingToken);
+        verify(localLockService).lock("1000000000", OPTIONS);
+        verify(localLockService).unlock("1000000000", OPTIONS);
+        verify(primary, never()).unlock(anyString(), any());
+        assertEquals(1.0, meterRegistry.counter("account.lock.degraded",
+                "type", "single", "policy", "local").count());
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC - 여러 계좌 lock 없이 진행")
+    void optimistic_lockAll() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.OPTIMISTIC);
+        List<String> accountNumbers = List.of("2000000000", "1000000000");
+        given(primary.lockAll(any(), any()))
+                .willThrow(new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE));
+
+        // when
+        Map<String, Long> fencingTokens = lockService.lockAll(accountNumbers, OPTIONS);
+        lockService.unlockAll(accountNumbers, OPTIONS);
+
+        // then
+        assertEquals(Map.of("1000000000", LockService.NO_FENCING_TOKEN,
+                "2000000000", LockService.NO_FENCING_TOKEN), fencingTokens);
+        verify(primary, never()).unlockAll(any(), any());
+        verify(localLockService, never()).lockAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("비동기 OPTIMISTIC - lock 없이 진행, 같은 ownerId 해제는 Redis 를 호출하지 않음")
+    void optimistic_lockAsync() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.OPTIMISTIC);
+        given(primary.lockAsync(anyString(), anyLong(), any()))
+                .willReturn(CompletableFuture.failedFuture(
+                        new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE)));
+
+        // when
+        long fencingToken = lockService.lockAsync("1000000000", -1L, OPTIONS).join();
+        lockService.unlockAsync("1000000000", -1L, OPTIONS).join();
+
+        // then
+        assertEquals(LockService.NO_FENCING_TOKEN, fencingToken);
+        verify(primary, never()).unlockAsync(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("비동기 LOCAL - 스레드 소유 lock 은 쓸 수 없으므로 실패")
+    void local_lockAsync() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.LOCAL);
+        given(primary.lockAsync(anyString(), anyLong(), any()))
+                .willReturn(CompletableFuture.failedFuture(
+                        new AccountException(ErrorCode.LOCK_SERVICE_UNAVAILABLE)));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> lockService.lockAsync("1000000000", -1L, OPTIONS).join());
+
+        // then
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(localLockService, never()).lock(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("lease 만료로 이미 풀린 lock 해제 실패는 Redis 장애로 보지 않음")
+    void unlock_leaseExpired() {
+        // given
+        FailoverLockService lockService = failover(LockFailurePolicy.FAIL_CLOSED);
+        willThrow(new IllegalMonitorStateException())
+                .given(primary).unlock(eq("1000000000"), any());
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalMonitorStateException.class,
+                    () -> lockService.unlock("1000000000", OPTIONS));
+        }
+
+        // then
+        assertEquals(LockCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private FailoverLockService failover(LockFailurePolicy failurePolicy) {
+        return new FailoverLockService(primary, localLockService, circuitBreaker,
+                failurePolicy, new LockMetrics(meterRegistry));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.account.service;
+
+import com.example.account.config.FaultInjectionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectionAspectTest {
+
+    @Test
+    void fixedDelay() {
+        // given
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setDistribution(FaultInjectionProperties.Distribution.FIXED);
+        endpoint.setFixedMs(5000L);
+
+        // when
+        // then
+        assertEquals(5000L, FaultInjectionAspect.sampleDelayMillis(endpoint));
+    }
+
+    @Test
+    void uniformDelayInRange() {
+        // given
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setDistribution(FaultInjectionProperties.Distribution.UNIFORM);
+        endpoint.setMinMs(100L);
+        endpoint.setMaxMs(200L);
+
+        // when
+        // then
+        for (int i = 0; i < 1000; i++) {
+            long delay = FaultInjectionAspect.sampleDelayMillis(endpoint);
+            assertTrue(delay >= 100L && delay <= 200L);
+        }
+    }
+
+    @Test
+    void exponentialDelayCapped() {
+        // given
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setDistribution(FaultInjectionProperties.Distribution.EXPONENTIAL);
+        endpoint.setMeanMs(1000L);
+        endpoint.setMaxMs(1500L);
+
+        // when
+        // then
+        for (int i = 0; i < 1000; i++) {
+            long delay = FaultInjectionAspect.sampleDelayMillis(endpoint);
+            assertTrue(delay >= 0L && delay <= 1500L);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HybridLockServiceTest {
+
+    private static final LockOptions OPTIONS = LockOptions.builder()
+            .waitMillis(1000L)
+            .leaseMillis(15000L)
+            .build();
+
+    @Mock
+    private LocalLockService localLockService;
+
+    @Mock
+    private RedisLockService redisLockService;
+
+    @InjectMocks
+    private HybridLockService lockService;
+
+    @Test
+    void lockLocalFirst() {
+        // given
+        given(redisLockService.lock(anyString(), any()))
+                .willReturn(3L);
+
+        // when
+        long fencingToken = lockService.lock("1234567890", OPTIONS);
+        lockService.unlock("1234567890", OPTIONS);
+
+        // then
+        assertEquals(3L, fencingToken);
+        InOrder inOrder = inOrder(localLockService, redisLockService);
+        inOrder.verify(localLockService).lock("1234567890", OPTIONS);
+        inOrder.verify(redisLockService).lock(anyString(), any());
+        inOrder.verify(redisLockService).unlock("1234567890", OPTIONS);
+        inOrder.verify(localLockService).unlock("1234567890", OPTIONS);
+    }
+
+    @Test
+    void releaseLocal_whenRedisLockFailed() {
+        // given
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(redisLockService).lock(anyString(), any());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890", OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(localLockService).unlock("1234567890", OPTIONS);
+    }
+
+    @Test
+    void releaseLocal_whenRedisMultiLockFailed() {
+        // given
+        List<String> accountNumbers = List.of("1000000000", "2000000000");
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(redisLockService).lockAll(any(), any());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lockAll(accountNumbers, OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        InOrder inOrder = inOrder(localLockService, redisLockService);
+        inOrder.verify(localLockService).lockAll(accountNumbers, OPTIONS);
+        inOrder.verify(redisLockService).lockAll(any(), any());
+        inOrder.verify(localLockService).unlockAll(accountNumbers, OPTIONS);
+    }
+}
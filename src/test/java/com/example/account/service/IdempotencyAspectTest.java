@@ -0,0 +1,282 @@
+package com.example.account.service;
+
+import com.example.account.config.IdempotencyProperties;
+import com.example.account.config.LockProperties;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+    private static final UseBalance.Request USE_REQUEST =
+            new UseBalance.Request(1L, "1000000000", 1000L);
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MockHttpServletRequest httpRequest =
+            new MockHttpServletRequest("POST", "/transaction/use");
+
+    private IdempotencyAspect idempotencyAspect;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyAspect = new IdempotencyAspect(
+                new LocalIdempotencyStore(100), new IdempotencyProperties(), new LockProperties(), meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 가 없으면 매번 실행")
+    void noKey() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.completedFuture(useResponse()));
+
+        // when
+        around();
+        around();
+
+        // then
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    @Test
+    @DisplayName("같은 key 재요청은 실행하지 않고 첫 응답을 그대로 반환")
+    void replay() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        UseBalance.Response response = useResponse();
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.completedFuture(response));
+
+        // when
+        Object first = ((CompletableFuture<?>) around()).join();
+        UseBalance.Response replayed = (UseBalance.Response) ((CompletableFuture<?>) around()).join();
+
+        // then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertSame(response, first);
+        assertEquals(response.getAccountNumber(), replayed.getAccountNumber());
+        assertEquals(response.getTransactionResult(), replayed.getTransactionResult());
+        assertEquals(response.getTransactionId(), replayed.getTransactionId());
+        assertEquals(response.getAmount(), replayed.getAmount());
+        assertEquals(response.getTransactedAt(), replayed.getTransactedAt());
+        assertEquals(1.0, meterRegistry.counter("account.idempotency", "result", "replayed").count());
+    }
+
+    @Test
+    @DisplayName("처리 중인 같은 key 요청은 실행 결과를 같이 기다림")
+    void joinInFlight() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        CompletableFuture<Object> inFlight = new CompletableFuture<>();
+        given(proceedingJoinPoint.proceed()).willReturn(inFlight);
+
+        // when
+        CompletableFuture<?> first = (CompletableFuture<?>) around();
+        CompletableFuture<?> duplicate = (CompletableFuture<?>) around();
+        assertFalse(duplicate.isDone());
+        UseBalance.Response response = useResponse();
+        inFlight.complete(response);
+
+        // then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertSame(response, first.join());
+        assertSame(response, duplicate.join());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 처리 중이면 IDEMPOTENCY_KEY_IN_PROGRESS")
+    void pendingInStore() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        LocalIdempotencyStore store = new LocalIdempotencyStore(100);
+        store.putIfAbsent("/transaction/use:1000000000:key-1",
+                IdempotentResponseCodec.pending(IdempotentResponseCodec.fingerprint(USE_REQUEST)),
+                new IdempotencyProperties().getPendingTtl());
+        idempotencyAspect = new IdempotencyAspect(
+                store, new IdempotencyProperties(), new LockProperties(), meterRegistry);
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ((CompletableFuture<?>) around()).join());
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("같은 key 로 금액이 다른 요청 - 첫 응답을 돌려주지 않고 INVALID_REQUEST")
+    void replay_fingerprintMismatch() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.completedFuture(useResponse()));
+        ((CompletableFuture<?>) around()).join();
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ((CompletableFuture<?>) idempotencyAspect.aroundMethod(proceedingJoinPoint, null,
+                        new UseBalance.Request(1L, "1000000000", 2000L))).join());
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertEquals(1.0, meterRegistry.counter("account.idempotency", "result", "mismatch").count());
+    }
+
+    @Test
+    @DisplayName("처리 중 표시는 lock 대기 + 임대 시간보다 먼저 만료되지 않음")
+    void pendingTtl_coversLockLease() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setLeaseTime(Duration.ofMinutes(2));
+        idempotencyAspect = new IdempotencyAspect(
+                store, new IdempotencyProperties(), lockProperties, meterRegistry);
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.completedFuture(useResponse()));
+
+        // when
+        ((CompletableFuture<?>) around()).join();
+
+        // then
+        verify(store).putIfAbsent(eq("/transaction/use:1000000000:key-1"), any(),
+                eq(lockProperties.getWaitTime().plus(Duration.ofMinutes(2))));
+    }
+
+    @Test
+    @DisplayName("업무 오류는 저장해서 재요청에도 같은 오류")
+    void replayAccountException() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        AccountException first = assertThrows(AccountException.class, this::around);
+        CompletionException replayed = assertThrows(CompletionException.class,
+                () -> ((CompletableFuture<?>) around()).join());
+
+        // then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, first.getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) replayed.getCause()).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("lock 대기 실패는 저장하지 않고 재요청 시 다시 실행")
+    void retryableError() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "key-1");
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.failedFuture(
+                        new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)))
+                .willReturn(CompletableFuture.completedFuture(useResponse()));
+
+        // when
+        assertThrows(CompletionException.class, () -> ((CompletableFuture<?>) around()).join());
+        Object retried = ((CompletableFuture<?>) around()).join();
+
+        // then
+        verify(proceedingJoinPoint, times(2)).proceed();
+        assertTrue(retried instanceof UseBalance.Response);
+    }
+
+    @Test
+    @DisplayName("잘못된 key - 너무 긴 Idempotency-Key")
+    void keyTooLong() throws Throwable {
+        // given
+        httpRequest.addHeader(IdempotencyAspect.HEADER, "k".repeat(IdempotencyAspect.MAX_KEY_LENGTH + 1));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class, this::around);
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("직렬화 - 사용 취소 응답")
+    void codec_cancelResponse() {
+        // given
+        CancelBalance.Response response = CancelBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(TransactionResultType.S)
+                .transactionId("transactionId")
+                .amount(1000L)
+                .transactedAt(LocalDateTime.of(2022, 6, 1, 23, 26, 14, 671859000))
+                .build();
+
+        // when
+        byte[] bytes = IdempotentResponseCodec.encode(7L, response);
+        CancelBalance.Response decoded = (CancelBalance.Response) IdempotentResponseCodec.decode(bytes);
+
+        // then
+        assertTrue(bytes.length <= 80);
+        assertEquals(7L, IdempotentResponseCodec.fingerprintOf(bytes));
+        assertEquals(response.getAccountNumber(), decoded.getAccountNumber());
+        assertEquals(response.getTransactionResult(), decoded.getTransactionResult());
+        assertEquals(response.getTransactionId(), decoded.getTransactionId());
+        assertEquals(response.getAmount(), decoded.getAmount());
+        assertEquals(response.getTransactedAt(), decoded.getTransactedAt());
+    }
+
+    private Object around() throws Throwable {
+        return idempotencyAspect.aroundMethod(proceedingJoinPoint, null, USE_REQUEST);
+    }
+
+    private static UseBalance.Response useResponse() {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(TransactionResultType.S)
+                .transactionId("0184d6a4f2b07c2a0001")
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
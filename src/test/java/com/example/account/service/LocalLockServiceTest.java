@@ -0,0 +1,167 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalLockServiceTest {
+
+    private final LocalLockService lockService = new LocalLockService(16, false);
+
+    private final LockOptions options = LockOptions.builder()
+            .waitMillis(100L)
+            .build();
+
+    @Test
+    void successGetLock() {
+        // given
+        // when
+        // then
+        assertDoesNotThrow(() -> lockService.lock("1234567890", options));
+        lockService.unlock("1234567890", options);
+    }
+
+    @Test
+    void fencingTokenIncreases() {
+        // given
+        // when
+        long first = lockService.lock("1234567890", options);
+        lockService.unlock("1234567890", options);
+        long second = lockService.lock("1234567890", options);
+        lockService.unlock("1234567890", options);
+
+        // then
+        assertTrue(second > first);
+    }
+
+    @Test
+    void asyncNotSupported_failedFuture() {
+        // given
+        // when
+        CompletableFuture<Long> lock = lockService.lockAsync("1234567890", 1L, options);
+
+        // then
+        assertFalse(lockService.supportsAsync());
+        ExecutionException exception = assertThrows(ExecutionException.class, lock::get);
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE,
+                ((AccountException) exception.getCause()).getErrorCode());
+    }
+
+    @Test
+    void failGetLock_heldByOtherThread() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> {
+            lockService.lock("1234567890", options);
+            locked.countDown();
+            release.await();
+            lockService.unlock("1234567890", options);
+            return null;
+        });
+        locked.await();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890", LockOptions.builder().waitMillis(50L).build()));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertDoesNotThrow(() -> lockService.lock("1234567890", options));
+        lockService.unlock("1234567890", options);
+    }
+
+    @Test
+    void lockAll_oppositeOrder_noDeadlock() throws Exception {
+        // given
+        LockOptions waitLong = LockOptions.builder().waitMillis(5000L).build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        Callable<Integer> forward = () -> transferLoop(start, waitLong, "1000000000", "2000000000");
+        Callable<Integer> backward = () -> transferLoop(start, waitLong, "2000000000", "1000000000");
+        Future<Integer> first = executor.submit(forward);
+        Future<Integer> second = executor.submit(backward);
+        start.countDown();
+
+        // then
+        assertEquals(1000, first.get(10, TimeUnit.SECONDS));
+        assertEquals(1000, second.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void lockAll_sharedStripe() {
+        // given
+        LocalLockService singleStripe = new LocalLockService(1, false);
+
+        // when
+        Map<String, Long> fencingTokens = singleStripe.lockAll(
+                List.of("2000000000", "1000000000"), options);
+        singleStripe.unlockAll(List.of("2000000000", "1000000000"), options);
+
+        // then
+        assertEquals(List.of("1000000000", "2000000000"), List.copyOf(fencingTokens.keySet()));
+        assertDoesNotThrow(() -> singleStripe.lock("1000000000", options));
+        singleStripe.unlock("1000000000", options);
+    }
+
+    @Test
+    void failLockAll_releaseAcquired() throws Exception {
+        // given
+        LocalLockService stripedLockService = new LocalLockService(1024, false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> {
+            stripedLockService.lock("2000000000", options);
+            locked.countDown();
+            release.await();
+            stripedLockService.unlock("2000000000", options);
+            return null;
+        });
+        locked.await();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> stripedLockService.lockAll(List.of("1000000000", "2000000000"),
+                        LockOptions.builder().waitMillis(50L).build()));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        // 먼저 잡은 계좌 lock 은 해제되어 있어야 한다.
+        Future<Boolean> reacquired = executor.submit(() -> {
+            stripedLockService.lock("1000000000", options);
+            stripedLockService.unlock("1000000000", options);
+            return true;
+        });
+        assertTrue(reacquired.get(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private int transferLoop(CountDownLatch start, LockOptions lockOptions,
+                             String from, String to) throws InterruptedException {
+        start.await();
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+            lockService.lockAll(List.of(from, to), lockOptions);
+            lockService.unlockAll(List.of(from, to), lockOptions);
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,19 +1,39 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransferBalance;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.junit.jupiter.api.DisplayName;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -23,9 +43,29 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
+    @Mock
+    private AccountLock accountLock;
+
+    @Mock
+    private AsyncLockExecutor asyncLockExecutor;
+
+    @Mock
+    private AccountActorExecutor accountActorExecutor;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private LockMetrics lockMetrics = new LockMetrics(meterRegistry);
+
     @InjectMocks
     private LockAopAspect lockAopAspect;
 
@@ -41,11 +81,11 @@ class LockAopAspectTest {
         UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
 
         // when
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
 
         // then
-        verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
-        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture());
+        verify(lockService, times(1)).lock(lockArgumentCaptor.capture(), any());
+        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture(), any());
         assertEquals("1234", lockArgumentCaptor.getValue());
         assertEquals("1234", unlockArgumentCaptor.getValue());
 
@@ -65,14 +105,281 @@ class LockAopAspectTest {
         given(proceedingJoinPoint.proceed()).willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         // when
-        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request));
 
         // then
-        verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
-        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture());
+        verify(lockService, times(1)).lock(lockArgumentCaptor.capture(), any());
+        verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture(), any());
         assertEquals("1234", lockArgumentCaptor.getValue());
         assertEquals("1234", unlockArgumentCaptor.getValue());
+        assertNull(AccountLockContext.getFencingToken());
+
+    }
+
+    @Test
+    void resolveOptionsFromAnnotation() throws Throwable {
+        // given
+        given(accountLock.tryLockTime()).willReturn(300L);
+        given(accountLock.leaseTime()).willReturn(2000L);
+        given(accountLock.fair()).willReturn(true);
+
+        ArgumentCaptor<LockOptions> captor = ArgumentCaptor.forClass(LockOptions.class);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(lockService, times(1)).lock(eq("1234"), captor.capture());
+        assertEquals(300L, captor.getValue().getWaitMillis());
+        assertEquals(2000L, captor.getValue().getLeaseMillis());
+        assertTrue(captor.getValue().isFair());
+    }
+
+    @Test
+    void resolveOptionsFromProperties() throws Throwable {
+        // given
+        given(accountLock.tryLockTime()).willReturn(-1L);
+        given(accountLock.leaseTime()).willReturn(-1L);
+        lockProperties.setWaitTime(Duration.ofMillis(700));
+        lockProperties.setLeaseTime(Duration.ofSeconds(3));
+
+        ArgumentCaptor<LockOptions> captor = ArgumentCaptor.forClass(LockOptions.class);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(lockService, times(1)).lock(eq("1234"), captor.capture());
+        assertEquals(700L, captor.getValue().getWaitMillis());
+        assertEquals(3000L, captor.getValue().getLeaseMillis());
+        assertFalse(captor.getValue().isFair());
+    }
+
+    @Test
+    void fencingTokenDuringProceed() throws Throwable {
+        // given
+        given(lockService.lock(anyString(), any())).willReturn(42L);
+        given(proceedingJoinPoint.proceed())
+                .willAnswer(invocation -> AccountLockContext.getFencingToken());
+
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        Object fencingToken = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(42L, fencingToken);
+        assertNull(AccountLockContext.getFencingToken());
+    }
+
+    @Test
+    void skipLock_whenLockless() throws Throwable {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        verify(lockService, never()).lock(anyString(), any());
+        verify(lockService, never()).unlock(anyString(), any());
+    }
+
+    @Test
+    void lockAllAndUnlockAll_fencingTokenPerAccount() throws Throwable {
+        // given
+        TransferBalance.Request request = new TransferBalance.Request(
+                123L, "2000000000", "1000000000", 1000L);
+        given(lockService.lockAll(any(), any()))
+                .willReturn(Map.of("1000000000", 5L, "2000000000", 8L));
+        given(proceedingJoinPoint.proceed())
+                .willAnswer(invocation -> List.of(
+                        AccountLockContext.getFencingToken("1000000000"),
+                        AccountLockContext.getFencingToken("2000000000")));
+
+        // when
+        Object fencingTokens = lockAopAspect.aroundMultiAccountMethod(
+                proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(List.of(5L, 8L), fencingTokens);
+        verify(lockService, times(1)).lockAll(eq(List.of("2000000000", "1000000000")), any());
+        verify(lockService, times(1)).unlockAll(eq(List.of("2000000000", "1000000000")), any());
+        verify(lockService, never()).lock(anyString(), any());
+        assertNull(AccountLockContext.getFencingToken("1000000000"));
+    }
+
+    @Test
+    void unlockAll_evenIfThrow() throws Throwable {
+        // given
+        TransferBalance.Request request = new TransferBalance.Request(
+                123L, "1000000000", "2000000000", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMultiAccountMethod(proceedingJoinPoint, accountLock, request));
+
+        // then
+        verify(lockService, times(1)).unlockAll(any(), any());
+    }
+
+    @Test
+    void asyncLock_whenReturnsCompletableFuture() throws Throwable {
+        // given
+        MethodSignature signature = mock(MethodSignature.class);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(asyncLockExecutor.isEnabled()).willReturn(true);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        given(asyncLockExecutor.execute(eq("1234"), any(), any())).willReturn(result);
+
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        Object returned = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertSame(result, returned);
+        verify(lockService, never()).lock(anyString(), any());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    void blockingLock_whenAsyncDisabled() throws Throwable {
+        // given
+        given(asyncLockExecutor.isEnabled()).willReturn(false);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(lockService, times(1)).lock(eq("1234"), any());
+        verify(asyncLockExecutor, never()).execute(anyString(), any(), any());
+    }
 
+    @Test
+    void routeToActor_whenActorMode() throws Throwable {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.ACTOR);
+        MethodSignature signature = mock(MethodSignature.class);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(CompletableFuture.class);
+        given(accountActorExecutor.isEnabled()).willReturn(true);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        given(accountActorExecutor.execute(eq("1234"), any())).willReturn(result);
+
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        Object returned = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertSame(result, returned);
+        verify(lockService, never()).lock(anyString(), any());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    void lockMetrics_waitAndHeld() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(-1L);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(1L, meterRegistry.timer("account.lock.wait",
+                "type", "single", "outcome", "acquired").count());
+        assertEquals(1L, meterRegistry.timer("account.lock.held", "type", "single").count());
+        assertNull(meterRegistry.find("account.lock.forced.unlocks").counter());
     }
 
-}
\ No newline at end of file
+    @Test
+    void lockMetrics_leaseExpired() throws Throwable {
+        // given
+        given(lockService.appliesLease()).willReturn(true);
+        given(accountLock.leaseTime()).willReturn(-1L);
+        lockProperties.setLeaseTime(Duration.ofMillis(1));
+        given(proceedingJoinPoint.proceed()).willAnswer(invocation -> {
+            Thread.sleep(20);
+            return null;
+        });
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(1.0, meterRegistry.counter("account.lock.forced.unlocks",
+                "type", "single", "reason", "lease_expired").count());
+    }
+
+    @Test
+    void lockMetrics_localLock_noLeaseExpired() throws Throwable {
+        // given
+        LockAopAspect localLockAspect = new LockAopAspect(new LocalLockService(16, false),
+                lockProperties, transactionProperties, asyncLockExecutor, accountActorExecutor, lockMetrics);
+        given(accountLock.leaseTime()).willReturn(-1L);
+        lockProperties.setLeaseTime(Duration.ofMillis(1));
+        given(proceedingJoinPoint.proceed()).willAnswer(invocation -> {
+            Thread.sleep(20);
+            return null;
+        });
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        localLockAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(1L, meterRegistry.timer("account.lock.held", "type", "single").count());
+        assertNull(meterRegistry.find("account.lock.forced.unlocks").counter());
+    }
+
+    @Test
+    void lockMetrics_failureReason() {
+        // given
+        given(lockService.lock(anyString(), any()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        UseBalance.Request request = new UseBalance.Request(123L, "1234", 1000L);
+
+        // when
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request));
+
+        // then
+        assertEquals(1L, meterRegistry.timer("account.lock.wait",
+                "type", "single", "outcome", "failed").count());
+        assertEquals(1.0, meterRegistry.counter("account.lock.failures",
+                "type", "single", "reason", "ACCOUNT_TRANSACTION_LOCK").count());
+        assertNull(meterRegistry.find("account.lock.held").timer());
+    }
+
+    @Test
+    void unlockFailed_doesNotMaskResult() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(-1L);
+        willThrow(new IllegalMonitorStateException("not locked by current thread"))
+                .given(lockService).unlockAll(any(), any());
+        given(proceedingJoinPoint.proceed()).willReturn("result");
+        TransferBalance.Request request = new TransferBalance.Request(
+                123L, "1000000000", "2000000000", 1000L);
+
+        // when
+        Object result = lockAopAspect.aroundMultiAccountMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals("result", result);
+        assertEquals(1L, meterRegistry.timer("account.lock.held", "type", "multi").count());
+        assertEquals(1.0, meterRegistry.counter("account.lock.forced.unlocks",
+                "type", "multi", "reason", "unlock_failed").count());
+    }
+}
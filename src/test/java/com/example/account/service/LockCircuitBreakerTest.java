@@ -0,0 +1,68 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockCircuitBreakerTest {
+
+    @Test
+    @DisplayName("연속 오류가 기준 이상이면 OPEN - 그 사이 성공하면 다시 센다")
+    void open_afterConsecutiveFailures() {
+        // given
+        LockCircuitBreaker circuitBreaker = new LockCircuitBreaker(3, Duration.ofMinutes(1));
+
+        // when
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        boolean allowedBeforeOpen = circuitBreaker.allowRequest();
+        circuitBreaker.onFailure();
+
+        // then
+        assertTrue(allowedBeforeOpen);
+        assertEquals(LockCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("openDuration 이후 한 요청만 허용 - 성공하면 CLOSED")
+    void halfOpen_thenClose() {
+        // given
+        LockCircuitBreaker circuitBreaker = new LockCircuitBreaker(1, Duration.ZERO);
+        circuitBreaker.onFailure();
+
+        // when
+        boolean trial = circuitBreaker.allowRequest();
+        boolean concurrent = circuitBreaker.allowRequest();
+        circuitBreaker.onSuccess();
+
+        // then
+        assertTrue(trial);
+        assertFalse(concurrent);
+        assertEquals(LockCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 에서 실패하면 다시 OPEN")
+    void halfOpen_thenOpen() {
+        // given
+        LockCircuitBreaker circuitBreaker = new LockCircuitBreaker(5, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertTrue(circuitBreaker.allowRequest());
+
+        // when
+        circuitBreaker.onFailure();
+
+        // then
+        assertEquals(LockCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
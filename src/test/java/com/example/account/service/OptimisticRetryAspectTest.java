@@ -0,0 +1,140 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.config.TransactionProperties;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
+import com.example.account.type.LockFailurePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private final TransactionProperties transactionProperties = new TransactionProperties();
+
+    private final LockProperties lockProperties = new LockProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OptimisticRetryAspect optimisticRetryAspect;
+
+    @BeforeEach
+    void setUp() {
+        transactionProperties.setExecutionMode(ExecutionMode.OPTIMISTIC);
+        transactionProperties.getRetry().setMaxAttempts(3);
+        transactionProperties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        transactionProperties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+        optimisticRetryAspect = new OptimisticRetryAspect(transactionProperties, lockProperties, meterRegistry);
+    }
+
+    @Test
+    void retryUntilSuccess() throws Throwable {
+        // given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("result");
+
+        // when
+        Object result = optimisticRetryAspect.aroundMethod(proceedingJoinPoint);
+
+        // then
+        assertEquals("result", result);
+        verify(proceedingJoinPoint, times(2)).proceed();
+        assertEquals(1.0, meterRegistry.counter("account.transaction.optimistic.retries",
+                "operation", "useBalance").count());
+    }
+
+    @Test
+    void retryExhausted() throws Throwable {
+        // given
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(proceedingJoinPoint));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+        assertEquals(1.0, meterRegistry.counter("account.transaction.optimistic.exhausted",
+                "operation", "useBalance").count());
+    }
+
+    @Test
+    void noRetry_whenNotOptimistic() throws Throwable {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCK);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(proceedingJoinPoint));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void retry_whenLockDegradesToOptimistic() throws Throwable {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCK);
+        lockProperties.getRedis().setFailurePolicy(LockFailurePolicy.OPTIMISTIC);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("result");
+
+        // when
+        Object result = optimisticRetryAspect.aroundMethod(proceedingJoinPoint);
+
+        // then
+        assertEquals("result", result);
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    @Test
+    void backoffWithinCeiling() {
+        // given
+        TransactionProperties.Retry retry = new TransactionProperties.Retry();
+        retry.setInitialBackoff(Duration.ofMillis(10));
+        retry.setMaxBackoff(Duration.ofMillis(50));
+
+        // when
+        // then
+        for (int attempt = 1; attempt < 40; attempt++) {
+            long backoff = OptimisticRetryAspect.backoffMillis(retry, attempt);
+            assertTrue(backoff >= 0 && backoff <= 50);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisTimeoutException;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLockServiceTest {
+
+    private static final LockOptions OPTIONS = LockOptions.builder()
+            .waitMillis(1000L)
+            .leaseMillis(15000L)
+            .build();
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock rLock;
+
+    @Mock
+    private RAtomicLong fencingCounter;
+
+    private RedisLockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        lockService = new RedisLockService(redissonClient, 100);
+    }
+
+    @Test
+    void successGetLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        given(redissonClient.getAtomicLong(anyString()))
+                .willReturn(fencingCounter);
+
+        given(fencingCounter.incrementAndGet())
+                .willReturn(7L);
+
+        // when
+        long fencingToken = lockService.lock("123", OPTIONS);
+
+        // then
+        assertEquals(7L, fencingToken);
+        verify(rLock).tryLock(eq(1000L), eq(15000L), any());
+    }
+
+    @Test
+    void failGetLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("123", OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+
+    }
+
+    @Test
+    void fairLock() throws InterruptedException {
+        // given
+        given(redissonClient.getFairLock(anyString()))
+                .willReturn(rLock);
+
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        given(redissonClient.getAtomicLong(anyString()))
+                .willReturn(fencingCounter);
+
+        // when
+        lockService.lock("123", LockOptions.builder()
+                .waitMillis(1000L)
+                .leaseMillis(15000L)
+                .fair(true)
+                .build());
+
+        // then
+        verify(redissonClient).getFairLock("ACLK:123");
+    }
+
+    @Test
+    void successGetMultiLock_sortedOrder() throws InterruptedException {
+        // given
+        RLock lockA = mock(RLock.class);
+        RLock lockB = mock(RLock.class);
+        given(redissonClient.getLock("ACLK:1000000000")).willReturn(lockA);
+        given(redissonClient.getLock("ACLK:2000000000")).willReturn(lockB);
+        given(redissonClient.getMultiLock(lockA, lockB)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getAtomicLong(anyString())).willReturn(fencingCounter);
+        given(fencingCounter.incrementAndGet()).willReturn(3L, 9L);
+
+        // when
+        Map<String, Long> fencingTokens = lockService.lockAll(
+                List.of("2000000000", "1000000000"), OPTIONS);
+
+        // then
+        verify(redissonClient).getMultiLock(lockA, lockB);
+        assertEquals(3L, fencingTokens.get("1000000000"));
+        assertEquals(9L, fencingTokens.get("2000000000"));
+    }
+
+    @Test
+    void failGetMultiLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        RLock multiLock = mock(RLock.class);
+        given(redissonClient.getMultiLock(any(), any())).willReturn(multiLock);
+        given(multiLock.tryLock(anyLong(), anyLong(), any())).willReturn(false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lockAll(List.of("1000000000", "2000000000"), OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(redissonClient, never()).getAtomicLong(anyString());
+    }
+
+    @Test
+    void successGetLockAsync_ownerId() {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLockAsync(1000L, 15000L, TimeUnit.MILLISECONDS, -5L))
+                .willReturn(new CompletableFutureWrapper<>(true));
+        given(redissonClient.getAtomicLong(anyString())).willReturn(fencingCounter);
+        given(fencingCounter.incrementAndGetAsync())
+                .willReturn(new CompletableFutureWrapper<>(7L));
+
+        // when
+        long fencingToken = lockService.lockAsync("123", -5L, OPTIONS).join();
+
+        // then
+        assertEquals(7L, fencingToken);
+        verify(redissonClient).getAtomicLong("ACLK:FENCE:123");
+    }
+
+    @Test
+    void failGetLockAsync() {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(new CompletableFutureWrapper<>(false));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> lockService.lockAsync("123", -5L, OPTIONS).join());
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        verify(redissonClient, never()).getAtomicLong(anyString());
+    }
+
+    @Test
+    void unlockAsync_ownerId() {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.unlockAsync(-5L)).willReturn(new CompletableFutureWrapper<>((Void) null));
+
+        // when
+        lockService.unlockAsync("123", -5L, OPTIONS).join();
+
+        // then
+        verify(rLock).unlockAsync(-5L);
+    }
+
+    @Test
+    @DisplayName("같은 계좌는 lock 핸들을 재사용 - unlock 도 같은 핸들")
+    void reuseLockHandle() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getAtomicLong(anyString())).willReturn(fencingCounter);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            lockService.lock("123", OPTIONS);
+            lockService.unlock("123", OPTIONS);
+        }
+
+        // then
+        verify(redissonClient, times(1)).getLock("ACLK:123");
+        verify(redissonClient, times(1)).getAtomicLong("ACLK:FENCE:123");
+        verify(rLock, times(3)).unlock();
+    }
+
+    @Test
+    @DisplayName("lock 핸들 수는 handleCacheSize 이하로 유지")
+    void boundedLockHandles() throws InterruptedException {
+        // given
+        lockService = new RedisLockService(redissonClient, 2);
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getAtomicLong(anyString())).willReturn(fencingCounter);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            String accountNumber = String.valueOf(1000000000L + i);
+            lockService.lock(accountNumber, OPTIONS);
+            lockService.unlock(accountNumber, OPTIONS);
+        }
+
+        // then
+        assertTrue(lockService.handleCount() <= 2);
+    }
+
+    @Test
+    @DisplayName("Redis 오류 - lock 없이 진행하지 않고 LOCK_SERVICE_UNAVAILABLE")
+    void redisErrorOnLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willThrow(new RedisTimeoutException("timeout"));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("123", OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE, exception.getErrorCode());
+        verify(redissonClient, never()).getAtomicLong(anyString());
+    }
+
+    @Test
+    @DisplayName("fencing token 발급 실패 - 잡은 lock 해제 후 LOCK_SERVICE_UNAVAILABLE")
+    void redisErrorOnFencingToken() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+        given(redissonClient.getAtomicLong(anyString())).willReturn(fencingCounter);
+        given(fencingCounter.incrementAndGet()).willThrow(new RedisTimeoutException("timeout"));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("123", OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE, exception.getErrorCode());
+        verify(rLock).unlock();
+    }
+
+    @Test
+    @DisplayName("인터럽트 - lock 획득 실패")
+    void interruptedOnLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willThrow(new InterruptedException());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("123", OPTIONS));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("비동기 Redis 오류 - LOCK_SERVICE_UNAVAILABLE")
+    void redisErrorOnLockAsync() {
+        // given
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(new CompletableFutureWrapper<>(new RedisTimeoutException("timeout")));
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> lockService.lockAsync("123", -5L, OPTIONS).join());
+
+        // then
+        assertEquals(ErrorCode.LOCK_SERVICE_UNAVAILABLE,
+                ((AccountException) exception.getCause()).getErrorCode());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ServiceMetricsAspect serviceMetricsAspect;
+
+    @BeforeEach
+    void setUp() {
+        serviceMetricsAspect = new ServiceMetricsAspect(meterRegistry);
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getDeclaringType()).willReturn(TransactionService.class);
+        given(signature.getName()).willReturn("useBalance");
+    }
+
+    @Test
+    @DisplayName("성공 - outcome SUCCESS")
+    void recordSuccess() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed()).willReturn("result");
+
+        // when
+        Object result = serviceMetricsAspect.aroundServiceMethod(proceedingJoinPoint);
+
+        // then
+        assertEquals("result", result);
+        assertEquals(1L, meterRegistry.timer("account.service",
+                "class", "TransactionService", "method", "useBalance",
+                "outcome", "SUCCESS", "exception", "none").count());
+    }
+
+    @Test
+    @DisplayName("업무 실패 - outcome 은 ErrorCode")
+    void recordAccountException() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        assertThrows(AccountException.class,
+                () -> serviceMetricsAspect.aroundServiceMethod(proceedingJoinPoint));
+
+        // then
+        assertEquals(1L, meterRegistry.timer("account.service",
+                "class", "TransactionService", "method", "useBalance",
+                "outcome", "AMOUNT_EXCEED_BALANCE", "exception", "AccountException").count());
+    }
+
+    @Test
+    @DisplayName("그 외 예외 - outcome 은 INTERNAL_SERVER_ERROR")
+    void recordUnexpectedException() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed()).willThrow(new IllegalStateException("db error"));
+
+        // when
+        assertThrows(IllegalStateException.class,
+                () -> serviceMetricsAspect.aroundServiceMethod(proceedingJoinPoint));
+
+        // then
+        assertEquals(1L, meterRegistry.timer("account.service",
+                "class", "TransactionService", "method", "useBalance",
+                "outcome", "INTERNAL_SERVER_ERROR", "exception", "IllegalStateException").count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedTransactionIdGeneratorTest {
+
+    @Test
+    @DisplayName("32자리 소문자 16진수, 발급 시각과 node id 포함")
+    void generate() {
+        // given
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(0xABC);
+        long before = System.currentTimeMillis();
+
+        // when
+        String transactionId = generator.generate();
+
+        // then
+        assertTrue(transactionId.matches("[0-9a-f]{32}"));
+        long high = Long.parseUnsignedLong(transactionId.substring(0, 16), 16);
+        assertEquals(0xABC, high & 0xFFFF);
+        long millis = high >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("같은 노드에서 발급한 아이디는 문자열 순서 = 발급 순서")
+    void generate_ordered() {
+        // given
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(1);
+
+        // when
+        List<String> transactionIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            transactionIds.add(generator.generate());
+        }
+
+        // then
+        for (int i = 1; i < transactionIds.size(); i++) {
+            String previous = transactionIds.get(i - 1);
+            String current = transactionIds.get(i);
+            assertTrue(previous.substring(0, 16).compareTo(current.substring(0, 16)) <= 0);
+            assertNotEquals(previous, current);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 발급해도 중복 없음")
+    void generate_concurrent() throws Exception {
+        // given
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(1);
+        Set<String> transactionIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    transactionIds.add(generator.generate());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        // then
+        assertEquals(80_000, transactionIds.size());
+    }
+
+    @Test
+    @DisplayName("node id 범위 초과")
+    void invalidNodeId() {
+        // given
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedTransactionIdGenerator(0x10000));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedTransactionIdGenerator(-1));
+    }
+}
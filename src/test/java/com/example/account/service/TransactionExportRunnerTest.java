@@ -0,0 +1,74 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 거래 내보내기 CLI
+ * - export.file 이 있어도 시작 중에 애플리케이션을 종료하지 않는다. (종료는 AccountApplication.main)
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6395",
+        "spring.datasource.url=jdbc:h2:mem:export",
+        "account.transaction.export.file=${java.io.tmpdir}/account-export-runner-test.csv",
+        "account.transaction.export.format=csv",
+        "account.transaction.export.from=2022-01-01T00:00:00",
+        "account.transaction.export.to=2100-01-01T00:00:00"
+})
+class TransactionExportRunnerTest {
+
+    private static final String CSV_HEADER = "transactionId,accountNumber,transactionType,transactionResult,"
+            + "amount,balanceSnapshot,cancelled,linkedTransactionId,transactedAt";
+
+    @Autowired
+    private TransactionExportRunner transactionExportRunner;
+
+    @Autowired
+    private TransactionProperties transactionProperties;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("시작 시 내보내기 - 파일을 쓰고 애플리케이션은 계속 실행")
+    void exportOnStartup() throws IOException {
+        // given
+        // when
+        List<String> lines = Files.readAllLines(transactionProperties.getExport().getFile());
+
+        // then
+        assertEquals(CSV_HEADER, lines.get(0));
+    }
+
+    @Test
+    @DisplayName("내보내기 - 기간 안의 거래를 CSV 파일로")
+    void run() throws IOException {
+        // given
+        AccountDto account = accountService.createAccount(1L, 10000L);
+        TransactionDto used = transactionService.useBalance(1L, account.getAccountNumber(), 1000L);
+
+        // when
+        transactionExportRunner.run(null);
+
+        // then
+        List<String> lines = Files.readAllLines(transactionProperties.getExport().getFile());
+        assertEquals(CSV_HEADER, lines.get(0));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(used.getTransactionId() + ","
+                + account.getAccountNumber() + ",USE,S,1000,9000,false,,")));
+    }
+}
@@ -1,33 +1,53 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLockContext;
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.BatchTransaction;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionHistoryItem;
+import com.example.account.dto.TransferDto;
+import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
+import com.example.account.type.ExecutionMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.TransactionResultType.F;
 import static com.example.account.type.TransactionResultType.S;
 import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.TRANSFER_IN;
+import static com.example.account.type.TransactionType.TRANSFER_OUT;
 import static com.example.account.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -46,6 +66,21 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountCacheEvictor accountCacheEvictor;
+
+    @Mock
+    private FailedTransactionWriter failedTransactionWriter;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new TimeOrderedTransactionIdGenerator(1);
+
+    @Mock
+    private BalanceLedger balanceLedger;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -63,8 +98,8 @@ class TransactionServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(harry));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -83,11 +118,12 @@ class TransactionServiceTest {
         ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
 
         // when
-        TransactionDto transactionDto = transactionService.useBalance(1L,
+        TransactionDto transactionDto = transactionService.useBalance(17L,
                 "1000000012", USE_AMOUNT);
 
         // then
         verify(transactionRepository, times(1)).save(captor.capture());
+        verify(accountCacheEvictor, times(1)).evictAccounts(17L);
         assertEquals(USE_AMOUNT, captor.getValue().getAmount());
         assertEquals(9800L, captor.getValue().getBalanceSnapshot());
         assertEquals(S, transactionDto.getTransactionResult());
@@ -97,16 +133,250 @@ class TransactionServiceTest {
 
     }
 
+    @Test
+    @DisplayName("ACTOR 모드 - 계좌 row lock 을 잡고 잔액 사용")
+    void useBalanceActor_rowLock() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.ACTOR);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findForUpdateByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransactionDto transactionDto = transactionService.useBalance(17L,
+                "1000000012", USE_AMOUNT);
+
+        // then
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(accountRepository, never()).updateFencingToken(anyString(), anyLong());
+        assertEquals(9800L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("LEDGER 모드 - 계좌 잔액은 그대로, ledger 잔액에서 차감한 거래를 다음 순번으로 저장")
+    void useBalanceLedger() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LEDGER);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        willAnswer(invocation -> {
+            account.openLedger(5000L, 7L);
+            return null;
+        }).given(balanceLedger).open(account);
+        given(transactionRepository.saveAndFlush(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        AccountLockContext.setFencingToken(5L);
+        TransactionDto transactionDto;
+        try {
+            transactionDto = transactionService.useBalance(17L, "1000000012", USE_AMOUNT);
+        } finally {
+            AccountLockContext.clear();
+        }
+
+        // then
+        verify(accountRepository, never()).updateFencingToken(anyString(), anyLong());
+        verify(transactionRepository).saveAndFlush(captor.capture());
+        assertEquals(8L, captor.getValue().getLedgerSequence());
+        assertEquals(4800L, transactionDto.getBalanceSnapshot());
+        assertEquals(4800L, account.getLedgerBalance());
+    }
+
+    @Test
+    @DisplayName("LEDGER 모드 - 같은 순번이 이미 저장된 경우 (lock 만료 후 늦은 요청) 잔액 사용 실패")
+    void useBalanceLedgerFailed_LedgerSequenceTaken() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LEDGER);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        willAnswer(invocation -> {
+            account.openLedger(5000L, 7L);
+            return null;
+        }).given(balanceLedger).open(account);
+        given(transactionRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("uk_transaction_account_ledger_sequence"));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(17L, "1000000012", USE_AMOUNT));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("LEDGER 모드 - 계좌 잔액 컬럼이 아닌 ledger 잔액보다 큰 금액은 잔액 사용 실패")
+    void useBalanceLedgerFailed_AmountExceedBalance() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LEDGER);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        willAnswer(invocation -> {
+            account.openLedger(100L, 7L);
+            return null;
+        }).given(balanceLedger).open(account);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(17L, "1000000012", USE_AMOUNT));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(transactionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("fencing token 기록 후 잔액 사용")
+    void useBalanceSuccess_withFencingToken() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        given(accountRepository.updateFencingToken(anyString(), anyLong()))
+                .willReturn(1);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        AccountLockContext.setFencingToken(5L);
+
+        // when
+        try {
+            transactionService.useBalance(17L, "1000000012", USE_AMOUNT);
+        } finally {
+            AccountLockContext.clear();
+        }
+
+        // then
+        verify(accountRepository, times(1)).updateFencingToken("1000000012", 5L);
+        assertEquals(9800L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("lock 만료 (더 최신 fencing token 존재) - 잔액 사용 실패")
+    void useBalanceFailed_LockExpired() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .fencingToken(6L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        given(accountRepository.updateFencingToken(anyString(), anyLong()))
+                .willReturn(0);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        AccountLockContext.setFencingToken(5L);
+
+        // when
+        AccountException exception;
+        try {
+            exception = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(17L, "1000000012", USE_AMOUNT));
+        } finally {
+            AccountLockContext.clear();
+        }
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_LOCK_EXPIRED, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     @DisplayName("해당 유저 없음 - 잔액 사용 실패")
     void useBalanceFailed_UserNotFound() {
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.useBalance(1L,
+                () -> transactionService.useBalance(17L,
                         "1000000012", USE_AMOUNT));
 
         // then
@@ -121,15 +391,15 @@ class TransactionServiceTest {
                 .name("harry").build();
         harry.setId(17L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(harry));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
 
         // when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.useBalance(1L,
+                () -> transactionService.useBalance(17L,
                         "1000000012", USE_AMOUNT));
 
         // then
@@ -155,15 +425,15 @@ class TransactionServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(harry));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
 
         // when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.useBalance(1L,
+                () -> transactionService.useBalance(17L,
                         "1000000012", USE_AMOUNT));
 
         // then
@@ -186,15 +456,15 @@ class TransactionServiceTest {
                 .accountStatus(AccountStatus.UNREGISTERED)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
 
         // when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.useBalance(1L,
+                () -> transactionService.useBalance(12L,
                         "1000000012", USE_AMOUNT));
 
         // then
@@ -217,15 +487,15 @@ class TransactionServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(harry));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
 
         // when
         AccountException exception = assertThrows(AccountException.class,
-                () -> transactionService.useBalance(1L,
+                () -> transactionService.useBalance(17L,
                         "1000000012", USE_AMOUNT));
 
         // then
@@ -238,42 +508,12 @@ class TransactionServiceTest {
     @DisplayName("실패 트랜잭션 저장 성공 - 잔액 사용 실패")
     void saveFailedUseTransaction() {
         // given
-        AccountUser harry = AccountUser.builder()
-                .name("harry").build();
-        harry.setId(17L);
-
-        Account account = Account.builder()
-                .accountUser(harry)
-                .accountNumber("1000000012")
-                .balance(10000L)
-                .accountStatus(AccountStatus.IN_USE)
-                .build();
-
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
-
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
-                        .account(account)
-                        .transactionType(USE)
-                        .transactionResult(S)
-                        .amount(1000L)
-                        .balanceSnapshot(9000L)
-                        .transactionId("transactionId")
-                        .transactedAt(LocalDateTime.now())
-                        .build());
-
-        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
-
         // when
         transactionService.saveFailedUseTransaction("1000000000", USE_AMOUNT);
 
         // then
-        verify(transactionRepository, times(1)).save(captor.capture());
-        assertEquals(USE_AMOUNT, captor.getValue().getAmount());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-        assertEquals(F, captor.getValue().getTransactionResult());
-
+        verify(failedTransactionWriter, times(1)).enqueue(USE, "1000000000", USE_AMOUNT);
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
@@ -291,15 +531,14 @@ class TransactionServiceTest {
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
+        Transaction useTransaction = Transaction.builder()
+                .transactionId("transactionId")
+                .account(account)
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
         given(transactionRepository.findByTransactionId(anyString()))
-                .willReturn(
-                        Optional.of(Transaction.builder()
-                                .transactionId("transactionId")
-                                .account(account)
-                                .amount(1000L)
-                                .transactedAt(LocalDateTime.now())
-                                .build())
-                );
+                .willReturn(Optional.of(useTransaction));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -324,15 +563,56 @@ class TransactionServiceTest {
 
         // then
         verify(transactionRepository, times(1)).save(captor.capture());
+        verify(accountCacheEvictor, times(1)).evictAccounts(17L);
+        verify(accountCacheEvictor, times(1)).evictTransaction("transactionId");
         assertEquals(CANCEL_AMOUNT, captor.getValue().getAmount());
         assertEquals(11000L, captor.getValue().getBalanceSnapshot());
         assertEquals(S, captor.getValue().getTransactionResult());
         assertEquals(CANCEL, captor.getValue().getTransactionType());
+        assertEquals("transactionId", captor.getValue().getLinkedTransactionId());
+        assertTrue(useTransaction.isCancelled());
         assertEquals(S, transactionDto.getTransactionResult());
         assertEquals(CANCEL, transactionDto.getTransactionType());
 
     }
 
+    @Test
+    @DisplayName("이미 취소된 거래 - 잔액 사용 취소 실패")
+    void cancelBalanceFailed_AlreadyCancelled() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResult(S)
+                        .transactionId("transactionId")
+                        .amount(CANCEL_AMOUNT)
+                        .cancelled(true)
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT));
+
+        // then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("원거래 없음 - 잔액 사용 취소 실패")
     void cancelBalanceFailed_TransactionNotFound() {
@@ -467,6 +747,18 @@ class TransactionServiceTest {
     @Test
     @DisplayName("실패 트랜잭션 저장 성공 - 잔액 사용 취소 실패")
     void saveFailedCancelTransaction() {
+        // given
+        // when
+        transactionService.saveFailedCancelTransaction("1234567890", CANCEL_AMOUNT);
+
+        // then
+        verify(failedTransactionWriter, times(1)).enqueue(CANCEL, "1234567890", CANCEL_AMOUNT);
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("일괄 잔액 사용/취소 - 계좌 조회 한 번, 항목별 실패는 실패 거래로 저장하고 계속 처리")
+    void applyBatch() {
         // given
         AccountUser harry = AccountUser.builder()
                 .name("harry").build();
@@ -474,75 +766,396 @@ class TransactionServiceTest {
 
         Account account = Account.builder()
                 .accountUser(harry)
-                .accountNumber("1234567890")
+                .accountNumber("1000000012")
                 .balance(10000L)
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
+        account.setId(12L);
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
-
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Optional.of(Transaction.builder()
                         .account(account)
-                        .transactionType(CANCEL)
-                        .transactionResult(F)
-                        .amount(1000L)
-                        .balanceSnapshot(10000L)
+                        .transactionType(USE)
+                        .transactionResult(S)
                         .transactionId("transactionId")
+                        .amount(CANCEL_AMOUNT)
                         .transactedAt(LocalDateTime.now())
-                        .build());
+                        .build()));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
 
-        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        List<BatchTransaction.Item> items = List.of(
+                BatchTransaction.Item.builder()
+                        .use(new UseBalance.Request(17L, "1000000012", 1000L)).build(),
+                BatchTransaction.Item.builder()
+                        .use(new UseBalance.Request(17L, "1000000012", 20000L)).build(),
+                BatchTransaction.Item.builder()
+                        .cancel(new CancelBalance.Request("transactionId", "1000000012", CANCEL_AMOUNT)).build());
 
         // when
-        transactionService.saveFailedCancelTransaction("1234567890", CANCEL_AMOUNT);
+        List<BatchTransaction.Result> results = transactionService.applyBatch("1000000012", items);
 
         // then
-        verify(transactionRepository, times(1)).save(captor.capture());
-        assertEquals(CANCEL_AMOUNT, captor.getValue().getAmount());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-        assertEquals(F, captor.getValue().getTransactionResult());
-        assertEquals(CANCEL, captor.getValue().getTransactionType());
-
+        verify(accountRepository, times(1)).findByAccountNumber("1000000012");
+        verify(transactionRepository, times(3)).save(any());
+        verify(accountCacheEvictor, times(1)).evictAccounts(17L);
+        verify(accountCacheEvictor, times(1)).evictTransaction("transactionId");
+
+        assertEquals(S, results.get(0).getTransactionResult());
+        assertEquals(F, results.get(1).getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertNotNull(results.get(1).getTransactionId());
+        assertEquals(S, results.get(2).getTransactionResult());
+        assertEquals(CANCEL, results.get(2).getTransactionType());
+        assertEquals(10000L, account.getBalance());
     }
 
     @Test
-    @DisplayName("잔액 사용 확인")
-    void queryTransactionSuccess() {
+    @DisplayName("일괄 잔액 사용/취소 (LOCKLESS) - 계좌 row lock 조회")
+    void applyBatch_lockless() {
         // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+
         AccountUser harry = AccountUser.builder()
                 .name("harry").build();
         harry.setId(17L);
 
         Account account = Account.builder()
                 .accountUser(harry)
-                .accountNumber("1234567890")
+                .accountNumber("1000000012")
                 .balance(10000L)
                 .accountStatus(AccountStatus.IN_USE)
                 .build();
 
-        Transaction transaction = Transaction.builder()
-                .account(account)
-                .transactionType(CANCEL)
-                .transactionResult(F)
-                .amount(CANCEL_AMOUNT)
-                .balanceSnapshot(10000L)
-                .transactionId("transactionId")
-                .transactedAt(LocalDateTime.now())
-                .build();
+        given(accountRepository.findForUpdateByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<BatchTransaction.Result> results = transactionService.applyBatch("1000000012", List.of(
+                BatchTransaction.Item.builder()
+                        .use(new UseBalance.Request(17L, "1000000012", 1000L)).build()));
+
+        // then
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        assertEquals(S, results.get(0).getTransactionResult());
+        assertEquals(9000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("일괄 잔액 사용/취소 - 계좌 없음")
+    void applyBatch_accountNotFound() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.applyBatch("1000000012", List.of(
+                        BatchTransaction.Item.builder()
+                                .use(new UseBalance.Request(17L, "1000000012", 1000L)).build())));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 성공 - 출금/입금 거래 한 쌍 저장 (서로의 거래 아이디 연결)")
+    void transferBalanceSuccess() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+        AccountUser pobi = AccountUser.builder()
+                .name("pobi").build();
+        pobi.setId(13L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        Account toAccount = Account.builder()
+                .accountUser(pobi)
+                .accountNumber("1000000013")
+                .balance(500L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("1000000013"))
+                .willReturn(Optional.of(toAccount));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        TransferDto transferDto = transactionService.transferBalance(
+                17L, "1000000012", "1000000013", 1000L);
+
+        // then
+        verify(transactionRepository, times(2)).save(captor.capture());
+        Transaction withdraw = captor.getAllValues().get(0);
+        Transaction deposit = captor.getAllValues().get(1);
+
+        assertEquals(TRANSFER_OUT, withdraw.getTransactionType());
+        assertEquals(9000L, withdraw.getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, deposit.getTransactionType());
+        assertEquals(1500L, deposit.getBalanceSnapshot());
+        assertEquals(deposit.getTransactionId(), withdraw.getLinkedTransactionId());
+        assertEquals(withdraw.getTransactionId(), deposit.getLinkedTransactionId());
+
+        assertEquals(S, transferDto.getTransactionResult());
+        assertEquals(withdraw.getTransactionId(), transferDto.getWithdrawTransactionId());
+        assertEquals(deposit.getTransactionId(), transferDto.getDepositTransactionId());
+        verify(accountCacheEvictor).evictAccounts(17L);
+        verify(accountCacheEvictor).evictAccounts(13L);
+    }
+
+    @Test
+    @DisplayName("계좌 이체 실패 - 출금 계좌 잔액 부족")
+    void transferBalanceFailed_AmountExceedBalance() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(100L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        Account toAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000013")
+                .balance(0L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("1000000013"))
+                .willReturn(Optional.of(toAccount));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(17L, "1000000012", "1000000013", 1000L));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        assertEquals(0L, toAccount.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 실패 - 출금 계좌와 입금 계좌가 같음")
+    void transferBalanceFailed_SameAccount() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(17L, "1000000012", "1000000012", 1000L));
+
+        // then
+        assertEquals(ErrorCode.SAME_ACCOUNT_TRANSFER, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 (LOCKLESS) - 계좌 번호 순서로 조건부 UPDATE")
+    void transferBalanceLockless_updateInAccountNumberOrder() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+        Account fromAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("2000000000")
+                .balance(9000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        Account toAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000000")
+                .balance(1000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountRepository.creditBalance("1000000000", 1000L)).willReturn(1);
+        given(accountRepository.debitBalance("2000000000", 17L, 1000L)).willReturn(1);
+        given(accountRepository.findByAccountNumber("2000000000"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(toAccount));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransferDto transferDto = transactionService.transferBalance(
+                17L, "2000000000", "1000000000", 1000L);
+
+        // then
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).creditBalance("1000000000", 1000L);
+        inOrder.verify(accountRepository).debitBalance("2000000000", 17L, 1000L);
+        assertEquals(S, transferDto.getTransactionResult());
+        assertEquals(9000L, transferDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 거래는 사용 취소 불가")
+    void cancelBalanceFailed_TransferTransaction() {
+        // given
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
 
         given(transactionRepository.findByTransactionId(anyString()))
-                .willReturn(Optional.of(transaction));
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(TRANSFER_OUT)
+                        .transactionResult(S)
+                        .transactionId("transactionId")
+                        .amount(CANCEL_AMOUNT)
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
 
         // when
-        TransactionDto transactionDto = transactionService.queryTransaction("12345");
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT));
 
         // then
-        assertEquals(CANCEL, transactionDto.getTransactionType());
-        assertEquals(F, transactionDto.getTransactionResult());
-        assertEquals(CANCEL_AMOUNT, transactionDto.getAmount());
-        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(ErrorCode.TRANSACTION_NOT_CANCELLABLE, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 - size + 1 건 조회, 마지막 항목으로 다음 cursor")
+    void getTransactionHistory_nextCursor() {
+        // given
+        Account account = Account.builder()
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        account.setId(7L);
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(eq(7L), any(), any(), eq(Long.MIN_VALUE),
+                eq(USE), isNull(), eq(PageRequest.of(0, 3))))
+                .willReturn(List.of(
+                        TransactionHistoryItem.builder().id(30L).transactedAt(now).build(),
+                        TransactionHistoryItem.builder().id(20L).transactedAt(now.minusSeconds(1)).build(),
+                        TransactionHistoryItem.builder().id(10L).transactedAt(now.minusSeconds(2)).build()));
+
+        // when
+        TransactionHistory.Response response = transactionService.getTransactionHistory(
+                "1000000012", TransactionHistory.Request.builder().type(USE).size(2).build());
+
+        // then
+        assertEquals(2, response.getTransactions().size());
+        TransactionHistory.Cursor cursor = TransactionHistory.Cursor.decode(response.getNextCursor());
+        assertEquals(20L, cursor.getId());
+        assertEquals(now.minusSeconds(1), cursor.getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 - cursor 이후 조회, 마지막 페이지는 nextCursor 없음")
+    void getTransactionHistory_lastPage() {
+        // given
+        Account account = Account.builder()
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+        account.setId(7L);
+        LocalDateTime transactedAt = LocalDateTime.of(2022, 6, 1, 23, 26, 14, 671859000);
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(eq(7L), any(), eq(transactedAt), eq(20L),
+                isNull(), isNull(), eq(PageRequest.of(0, 3))))
+                .willReturn(List.of(
+                        TransactionHistoryItem.builder().id(10L).transactedAt(transactedAt).build()));
+
+        // when
+        TransactionHistory.Response response = transactionService.getTransactionHistory(
+                "1000000012", TransactionHistory.Request.builder()
+                        .cursor(new TransactionHistory.Cursor(transactedAt, 20L).encode())
+                        .size(2)
+                        .build());
+
+        // then
+        assertEquals(1, response.getTransactions().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("계좌 거래 내역 실패 - 잘못된 cursor")
+    void getTransactionHistory_invalidCursor() {
+        // given
+        given(accountRepository.findByAccountNumber("1000000012"))
+                .willReturn(Optional.of(Account.builder().accountNumber("1000000012").build()));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory("1000000012",
+                        TransactionHistory.Request.builder().cursor("not-a-cursor").build()));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(transactionRepository, never()).findHistory(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 확인")
+    void queryTransactionSuccess() {
+        // given
+        given(transactionRepository.findQueryResponseByTransactionId(anyString()))
+                .willReturn(Optional.of(QueryTransactionResponse.builder()
+                        .accountNumber("1234567890")
+                        .transactionType(CANCEL)
+                        .transactionResult(F)
+                        .amount(CANCEL_AMOUNT)
+                        .transactionId("transactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+
+        // when
+        QueryTransactionResponse response = transactionService.queryTransaction("12345");
+
+        // then
+        verify(transactionRepository, never()).findByTransactionId(anyString());
+        assertEquals("1234567890", response.getAccountNumber());
+        assertEquals(CANCEL, response.getTransactionType());
+        assertEquals(F, response.getTransactionResult());
+        assertEquals(CANCEL_AMOUNT, response.getAmount());
+        assertEquals("transactionId", response.getTransactionId());
 
     }
 
@@ -550,7 +1163,7 @@ class TransactionServiceTest {
     @DisplayName("원거래 없음 - 잔액 사용 확인 실패")
     void queryTransactionSuccess_TransactionNotFound() {
         // given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findQueryResponseByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         // when
@@ -561,4 +1174,140 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("잔액 사용 성공 - LOCKLESS")
+    void useBalanceSuccess_Lockless() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(9800L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountRepository.debitBalance(anyString(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        TransactionDto transactionDto = transactionService.useBalance(17L,
+                "1000000012", USE_AMOUNT);
+
+        // then
+        verify(accountRepository, times(1)).debitBalance("1000000012", 17L, USE_AMOUNT);
+        verify(accountUserRepository, times(0)).existsById(anyLong());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(9800L, captor.getValue().getBalanceSnapshot());
+        assertEquals(S, transactionDto.getTransactionResult());
+        assertEquals(USE, transactionDto.getTransactionType());
+    }
+
+    @Test
+    @DisplayName("거래 금액이 잔액보다 큰 경우 - 잔액 사용 실패 (LOCKLESS)")
+    void useBalanceFailed_AmountExceedBalance_Lockless() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1000000012")
+                .balance(100L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(accountRepository.debitBalance(anyString(), anyLong(), anyLong()))
+                .willReturn(0);
+
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(17L, "1000000012", USE_AMOUNT));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 성공 - LOCKLESS")
+    void cancelBalanceSuccess_Lockless() {
+        // given
+        transactionProperties.setExecutionMode(ExecutionMode.LOCKLESS);
+
+        AccountUser harry = AccountUser.builder()
+                .name("harry").build();
+        harry.setId(17L);
+
+        Account account = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1234567890")
+                .balance(10000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        Account updatedAccount = Account.builder()
+                .accountUser(harry)
+                .accountNumber("1234567890")
+                .balance(11000L)
+                .accountStatus(AccountStatus.IN_USE)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(
+                        Optional.of(Transaction.builder()
+                                .transactionId("transactionId")
+                                .account(account)
+                                .amount(CANCEL_AMOUNT)
+                                .transactedAt(LocalDateTime.now())
+                                .build())
+                );
+
+        given(transactionRepository.markCancelled(any()))
+                .willReturn(1);
+
+        given(accountRepository.creditBalance(anyString(), anyLong()))
+                .willReturn(1);
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(updatedAccount));
+
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        TransactionDto transactionDto = transactionService.cancelBalance(
+                "transactionId", "1234567890", CANCEL_AMOUNT);
+
+        // then
+        verify(transactionRepository, times(1)).markCancelled(any());
+        verify(accountRepository, times(1)).creditBalance("1234567890", CANCEL_AMOUNT);
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(11000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(CANCEL, transactionDto.getTransactionType());
+    }
+
+}